@@ -0,0 +1,68 @@
+package com.gryzor.swipenolib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The gap search done by the decorator on each frame of a removal animation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GapSearchBenchmark {
+
+    @Param({"60", "10000"})
+    public int rowCount;
+
+    private SwipeGeometry.Children rows;
+    private final int[] gap = new int[2];
+
+    @Setup
+    public void setUp() {
+        final int[] tops = new int[rowCount];
+        final int[] bottoms = new int[rowCount];
+        final float[] translations = new float[rowCount];
+        // A row was removed in the middle: the rows below it come up.
+        for (int i = 0; i < rowCount; i++) {
+            tops[i] = i * 120;
+            bottoms[i] = tops[i] + 120;
+            translations[i] = i > rowCount / 2 ? 60f : 0f;
+        }
+
+        rows = new SwipeGeometry.Children() {
+            @Override
+            public int getCount() {
+                return tops.length;
+            }
+
+            @Override
+            public int getTop(final int index) {
+                return tops[index];
+            }
+
+            @Override
+            public int getBottom(final int index) {
+                return bottoms[index];
+            }
+
+            @Override
+            public float getTranslationY(final int index) {
+                return translations[index];
+            }
+        };
+    }
+
+    @Benchmark
+    public int findGap() {
+        SwipeGeometry.findGap(rows, gap);
+        return gap[SwipeGeometry.GAP_BOTTOM] - gap[SwipeGeometry.GAP_TOP];
+    }
+}
@@ -0,0 +1,65 @@
+package com.gryzor.swipenolib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Swiping rows out of a 100k rows list, backed by an {@link ArrayList} or by the {@link ChunkedList} of
+ * {@code SwipeListAdapter}. Each invocation removes 1000 rows spread over the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ListRemovalBenchmark {
+
+    private static final int ROW_COUNT = 100000;
+    private static final int REMOVALS = 1000;
+
+    private List<Integer> source;
+    private List<Integer> arrayList;
+    private List<Integer> chunkedList;
+
+    @Setup
+    public void setUp() {
+        source = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            source.add(i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        arrayList = new ArrayList<>(source);
+        chunkedList = new ChunkedList<>(source);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMOVALS)
+    public List<Integer> arrayList() {
+        return removeSpread(arrayList);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMOVALS)
+    public List<Integer> chunkedList() {
+        return removeSpread(chunkedList);
+    }
+
+    private static List<Integer> removeSpread(final List<Integer> list) {
+        for (int i = 0; i < REMOVALS; i++) {
+            list.remove((int) ((i * 7919L) % list.size()));
+        }
+        return list;
+    }
+}
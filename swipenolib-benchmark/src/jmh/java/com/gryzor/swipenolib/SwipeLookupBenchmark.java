@@ -0,0 +1,84 @@
+package com.gryzor.swipenolib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The lookups done by {@code getSwipeDirs} for every row, over a 200k rows list.
+ * Each invocation does one million lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwipeLookupBenchmark {
+
+    private static final int ROW_COUNT = 200000;
+    private static final int LOOKUPS = 1000000;
+
+    private SwipeRules rules;
+    private LongHashSet disabledIds;
+    private SoftDeletePositionMap positionMap;
+
+    @Setup
+    public void setUp() {
+        rules = new SwipeRules();
+        // A locked section every 1000 rows, plus headers.
+        for (int start = 0; start < ROW_COUNT; start += 1000) {
+            rules.disableRange(start, start + 49);
+        }
+        rules.disableViewTypes(1, 200);
+
+        disabledIds = new LongHashSet();
+        for (long id = 0; id < ROW_COUNT; id += 7) {
+            disabledIds.add(id * 31);
+        }
+
+        positionMap = new SoftDeletePositionMap(ROW_COUNT);
+        for (int i = 0; i < 5000; i++) {
+            positionMap.hide(i * 30);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int rules() {
+        int disabled = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (rules.isSwipeDisabled((int) ((i * 7919L) % ROW_COUNT), i & 3)) {
+                disabled++;
+            }
+        }
+        return disabled;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int itemIds() {
+        int disabled = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (disabledIds.contains(((i * 7919L) % ROW_COUNT) * 31)) {
+                disabled++;
+            }
+        }
+        return disabled;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int softDeletedPositions() {
+        final int visibleCount = positionMap.getVisibleCount();
+        int sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += positionMap.toBackingPosition((int) ((i * 7919L) % visibleCount));
+        }
+        return sum;
+    }
+}
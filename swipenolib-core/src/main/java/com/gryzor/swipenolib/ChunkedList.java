@@ -0,0 +1,257 @@
+package com.gryzor.swipenolib;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list stored in small chunks, with a Fenwick tree over the chunk sizes to find the chunk holding a position.
+ * Getting, inserting or removing at any position costs O(log n) plus a shift inside one chunk, instead of the
+ * O(n) shift of an {@link java.util.ArrayList}.
+ * Removals leave chunks partially filled, they are packed again once too many of them are empty.
+ * Not thread safe.
+ */
+final class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+
+    static final int CHUNK_CAPACITY = 64;
+    // Chunks are packed 3/4 full, so inserting in the middle doesn't split them right away.
+    private static final int PACKED_SIZE = CHUNK_CAPACITY * 3 / 4;
+
+    private Object[][] chunks = new Object[0][];
+    private int[] sizes = new int[0];
+    private int[] tree = new int[1];
+    private int chunkCount;
+    private int size;
+
+    // Result of locate(), avoids allocating on every access.
+    private int foundChunk;
+    private int foundOffset;
+
+    ChunkedList() {
+    }
+
+    ChunkedList(final Collection<? extends E> items) {
+        pack(items.toArray());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        checkIndex(index, size);
+        locate(index);
+        return (E) chunks[foundChunk][foundOffset];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(final int index, final E element) {
+        checkIndex(index, size);
+        locate(index);
+        final Object[] chunk = chunks[foundChunk];
+        final E previous = (E) chunk[foundOffset];
+        chunk[foundOffset] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(final int index, final E element) {
+        checkIndex(index, size + 1);
+
+        int chunkIndex;
+        int offset;
+        if (index == size) {
+            // Appending, the common case.
+            chunkIndex = chunkCount - 1;
+            if (chunkIndex < 0 || sizes[chunkIndex] == CHUNK_CAPACITY) {
+                chunkIndex = appendChunk();
+            }
+            offset = sizes[chunkIndex];
+        } else {
+            locate(index);
+            chunkIndex = foundChunk;
+            offset = foundOffset;
+            if (sizes[chunkIndex] == CHUNK_CAPACITY) {
+                split(chunkIndex);
+                if (offset > sizes[chunkIndex]) {
+                    offset -= sizes[chunkIndex];
+                    chunkIndex++;
+                }
+            }
+        }
+
+        final Object[] chunk = chunks[chunkIndex];
+        System.arraycopy(chunk, offset, chunk, offset + 1, sizes[chunkIndex] - offset);
+        chunk[offset] = element;
+        sizes[chunkIndex]++;
+        update(chunkIndex, 1);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(final int index) {
+        checkIndex(index, size);
+        locate(index);
+
+        final Object[] chunk = chunks[foundChunk];
+        final E removed = (E) chunk[foundOffset];
+        final int chunkSize = sizes[foundChunk];
+        System.arraycopy(chunk, foundOffset + 1, chunk, foundOffset, chunkSize - foundOffset - 1);
+        chunk[chunkSize - 1] = null;
+        sizes[foundChunk]--;
+        update(foundChunk, -1);
+        size--;
+        modCount++;
+
+        if (chunkCount > 4 * (size / PACKED_SIZE) + 16) {
+            // Mostly empty chunks, the amortized cost of packing them is O(1) per removal.
+            pack(toArray());
+        }
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        for (int index = toIndex - 1; index >= fromIndex; index--) {
+            remove(index);
+        }
+    }
+
+    @Override
+    public void clear() {
+        pack(new Object[0]);
+        modCount++;
+    }
+
+    /**
+     * Replace all the elements at once, in linear time.
+     */
+    void replaceWith(final Collection<? extends E> items) {
+        pack(items.toArray());
+        modCount++;
+    }
+
+    /**
+     * Find the chunk holding {@code index} by walking down the Fenwick tree, empty chunks are skipped.
+     */
+    private void locate(final int index) {
+        int position = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(chunkCount); step > 0; step >>= 1) {
+            final int next = position + step;
+            if (next <= chunkCount && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        foundChunk = position;
+        foundOffset = remaining;
+    }
+
+    private void update(final int chunkIndex, final int delta) {
+        for (int i = chunkIndex + 1; i <= chunkCount; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefix(final int count) {
+        int sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private int appendChunk() {
+        ensureChunkCapacity(chunkCount + 1);
+        chunks[chunkCount] = new Object[CHUNK_CAPACITY];
+        sizes[chunkCount] = 0;
+        chunkCount++;
+        // The new node covers the chunks before it in its range, and an empty chunk.
+        final int node = chunkCount;
+        tree[node] = prefix(node - 1) - prefix(node - (node & -node));
+        return chunkCount - 1;
+    }
+
+    private void split(final int chunkIndex) {
+        ensureChunkCapacity(chunkCount + 1);
+        System.arraycopy(chunks, chunkIndex + 1, chunks, chunkIndex + 2, chunkCount - chunkIndex - 1);
+        System.arraycopy(sizes, chunkIndex + 1, sizes, chunkIndex + 2, chunkCount - chunkIndex - 1);
+        chunkCount++;
+
+        final Object[] full = chunks[chunkIndex];
+        final int half = CHUNK_CAPACITY / 2;
+        final Object[] second = new Object[CHUNK_CAPACITY];
+        System.arraycopy(full, half, second, 0, CHUNK_CAPACITY - half);
+        for (int i = half; i < CHUNK_CAPACITY; i++) {
+            full[i] = null;
+        }
+        chunks[chunkIndex + 1] = second;
+        sizes[chunkIndex] = half;
+        sizes[chunkIndex + 1] = CHUNK_CAPACITY - half;
+        rebuildTree();
+    }
+
+    private void pack(final Object[] items) {
+        size = items.length;
+        chunkCount = (size + PACKED_SIZE - 1) / PACKED_SIZE;
+        chunks = new Object[Math.max(chunkCount, 1)][];
+        sizes = new int[chunks.length];
+        for (int i = 0; i < chunkCount; i++) {
+            final int start = i * PACKED_SIZE;
+            final int count = Math.min(PACKED_SIZE, size - start);
+            chunks[i] = new Object[CHUNK_CAPACITY];
+            System.arraycopy(items, start, chunks[i], 0, count);
+            sizes[i] = count;
+        }
+        rebuildTree();
+    }
+
+    private void ensureChunkCapacity(final int capacity) {
+        if (capacity > chunks.length) {
+            final int newLength = Math.max(capacity, chunks.length * 2);
+            final Object[][] newChunks = new Object[newLength][];
+            System.arraycopy(chunks, 0, newChunks, 0, chunkCount);
+            chunks = newChunks;
+            final int[] newSizes = new int[newLength];
+            System.arraycopy(sizes, 0, newSizes, 0, chunkCount);
+            sizes = newSizes;
+            final int[] newTree = new int[newLength + 1];
+            System.arraycopy(tree, 0, newTree, 0, chunkCount + 1);
+            tree = newTree;
+        }
+    }
+
+    /**
+     * Linear time build of the tree from the chunk sizes.
+     */
+    private void rebuildTree() {
+        if (tree.length < chunks.length + 1) {
+            tree = new int[chunks.length + 1];
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            tree[i] = sizes[i - 1];
+        }
+        for (int i = chunkCount + 1; i < tree.length; i++) {
+            tree[i] = 0;
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            final int parent = i + (i & -i);
+            if (parent <= chunkCount) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void checkIndex(final int index, final int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
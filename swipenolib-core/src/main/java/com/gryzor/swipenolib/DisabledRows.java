@@ -0,0 +1,128 @@
+package com.gryzor.swipenolib;
+
+/**
+ * The rows that can't be swiped: disabled ids and positions, {@link SwipeRules}, placeholders of a
+ * {@link PagedSwipeSource} and the last row. Checked for every row the user touches, never allocates.
+ * The positions are shifted with the adapter notifications, and resolved to ids once the adapter has stable ids.
+ * Not thread safe.
+ */
+final class DisabledRows {
+
+    private static final long NO_ID = -1;
+
+    private final LongHashSet disabledIds;
+    private final SwipeRules rules;
+    private final boolean disableSwipeOnLastPosition;
+    private final PagedSwipeSource pagedSource;
+    private PositionIntervals disabledLocations;
+
+    DisabledRows(
+            final int[] disabledLocations,
+            final long[] disabledIds,
+            final boolean disableSwipeOnLastPosition,
+            final SwipeRules rules,
+            final PagedSwipeSource pagedSource) {
+        if (disabledLocations != null && disabledLocations.length > 0) {
+            this.disabledLocations = PositionIntervals.fromPositions(disabledLocations);
+        }
+
+        final int idCount = disabledIds != null ? disabledIds.length : 0;
+        this.disabledIds = new LongHashSet(idCount);
+        for (int i = 0; i < idCount; i++) {
+            this.disabledIds.add(disabledIds[i]);
+        }
+
+        this.disableSwipeOnLastPosition = disableSwipeOnLastPosition;
+        this.rules = rules;
+        this.pagedSource = pagedSource;
+    }
+
+    /**
+     * @param itemId the stable id of the row, or -1.
+     * @param position the adapter position of the row, or -1.
+     * @param itemCount the number of rows of the adapter, or -1 without adapter.
+     */
+    boolean isSwipeDisabled(final long itemId, final int position, final int viewType, final int itemCount) {
+        if (itemId != NO_ID && !disabledIds.isEmpty() && disabledIds.contains(itemId)) {
+            return true;
+        }
+
+        if (pagedSource != null && position != -1 && pagedSource.isPlaceholder(position)) {
+            return true;
+        }
+
+        if (disabledLocations != null && disabledLocations.contains(position)) {
+            return true;
+        }
+
+        if (rules != null && rules.isSwipeDisabled(position, viewType)) {
+            return true;
+        }
+
+        if (!disableSwipeOnLastPosition) {
+            return false;
+        }
+        if (pagedSource != null) {
+            // The end of the loaded pages isn't the end of the list.
+            return position == pagedSource.getTotalCount() - 1;
+        }
+        return itemCount != -1 && position == itemCount - 1;
+    }
+
+    void onItemRangeInserted(final int positionStart, final int itemCount) {
+        if (disabledLocations != null) {
+            disabledLocations.onItemRangeInserted(positionStart, itemCount);
+        }
+        if (rules != null) {
+            rules.onItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    void onItemRangeRemoved(final int positionStart, final int itemCount) {
+        if (disabledLocations != null) {
+            disabledLocations.onItemRangeRemoved(positionStart, itemCount);
+        }
+        if (rules != null) {
+            rules.onItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    void onItemMoved(final int fromPosition, final int toPosition) {
+        if (disabledLocations != null) {
+            disabledLocations.onItemMoved(fromPosition, toPosition);
+        }
+        if (rules != null) {
+            rules.onItemMoved(fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * Converts the disabled positions that exist in a stable ids adapter into ids.
+     * Positions past the end of the adapter are kept until the data arrives.
+     */
+    void resolvePositions(final int itemCount, final ItemIds itemIds) {
+        if (disabledLocations == null) {
+            return;
+        }
+
+        final int rangeCount = disabledLocations.size();
+        for (int i = 0; i < rangeCount; i++) {
+            final int end = Math.min(disabledLocations.endAt(i), itemCount);
+            for (int position = Math.max(disabledLocations.startAt(i), 0); position < end; position++) {
+                disabledIds.add(itemIds.getItemId(position));
+            }
+        }
+
+        disabledLocations.remove(Integer.MIN_VALUE, itemCount);
+        if (disabledLocations.isEmpty()) {
+            disabledLocations = null;
+        }
+    }
+
+    /**
+     * The stable ids of an adapter.
+     */
+    interface ItemIds {
+        long getItemId(int position);
+    }
+}
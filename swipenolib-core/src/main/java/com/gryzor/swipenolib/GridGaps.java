@@ -0,0 +1,168 @@
+package com.gryzor.swipenolib;
+
+/**
+ * The gaps found by {@link SwipeGeometry#findGridGaps(SwipeGeometry.GridChildren, GridGaps)}: the parts of the cells'
+ * slots that no cell covers in the current frame. Reused between frames: the buffers only grow, up to the number of
+ * cells.
+ */
+final class GridGaps {
+
+    private int gapCount;
+    private int[] gapLefts = new int[4];
+    private int[] gapRights = new int[4];
+    private int[] gapTops = new int[4];
+    private int[] gapBottoms = new int[4];
+
+    // Where each cell is drawn in the current frame, translations included.
+    private int[] cellLefts = new int[8];
+    private int[] cellTops = new int[8];
+    private int[] cellRights = new int[8];
+    private int[] cellBottoms = new int[8];
+
+    // Scratch buffers of subtract(): the edges of the horizontal bands, the cells crossing a band.
+    private int[] bands = new int[18];
+    private int[] coverLefts = new int[8];
+    private int[] coverRights = new int[8];
+
+    int size() {
+        return gapCount;
+    }
+
+    int getLeft(final int index) {
+        return gapLefts[index];
+    }
+
+    int getRight(final int index) {
+        return gapRights[index];
+    }
+
+    int getTop(final int index) {
+        return gapTops[index];
+    }
+
+    int getBottom(final int index) {
+        return gapBottoms[index];
+    }
+
+    /**
+     * Forget the gaps of the previous frame, and make room for {@code cellCount} cells.
+     */
+    void clear(final int cellCount) {
+        gapCount = 0;
+        if (cellCount > cellLefts.length) {
+            final int capacity = Math.max(cellCount, cellLefts.length * 2);
+            cellLefts = new int[capacity];
+            cellTops = new int[capacity];
+            cellRights = new int[capacity];
+            cellBottoms = new int[capacity];
+            coverLefts = new int[capacity];
+            coverRights = new int[capacity];
+            bands = new int[2 * capacity + 2];
+        }
+    }
+
+    void setCell(final int cell, final int left, final int top, final int right, final int bottom) {
+        cellLefts[cell] = left;
+        cellTops[cell] = top;
+        cellRights[cell] = right;
+        cellBottoms[cell] = bottom;
+    }
+
+    /**
+     * Add the parts of a slot that none of the first {@code cellCount} cells cover as gaps. The slot is cut in
+     * horizontal bands at the top and bottom edges of the cells, each band loses the spans of the cells crossing it.
+     */
+    void subtract(final int left, final int top, final int right, final int bottom, final int cellCount) {
+        int bandCount = 0;
+        bands[bandCount++] = top;
+        bands[bandCount++] = bottom;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cellTops[cell] > top && cellTops[cell] < bottom) {
+                bands[bandCount++] = cellTops[cell];
+            }
+            if (cellBottoms[cell] > top && cellBottoms[cell] < bottom) {
+                bands[bandCount++] = cellBottoms[cell];
+            }
+        }
+        sort(bands, bandCount);
+
+        final int firstGap = gapCount;
+        for (int band = 0; band + 1 < bandCount; band++) {
+            final int bandTop = bands[band];
+            final int bandBottom = bands[band + 1];
+            if (bandBottom <= bandTop) {
+                continue;
+            }
+
+            // The spans of the cells crossing the band, sorted by left edge.
+            int coverCount = 0;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (cellTops[cell] < bandBottom && cellBottoms[cell] > bandTop
+                        && cellLefts[cell] < right && cellRights[cell] > left) {
+                    int i = coverCount++;
+                    while (i > 0 && coverLefts[i - 1] > cellLefts[cell]) {
+                        coverLefts[i] = coverLefts[i - 1];
+                        coverRights[i] = coverRights[i - 1];
+                        i--;
+                    }
+                    coverLefts[i] = cellLefts[cell];
+                    coverRights[i] = cellRights[cell];
+                }
+            }
+
+            int x = left;
+            for (int i = 0; i < coverCount && x < right; i++) {
+                if (coverLefts[i] > x) {
+                    addGap(firstGap, x, bandTop, Math.min(coverLefts[i], right), bandBottom);
+                }
+                x = Math.max(x, coverRights[i]);
+            }
+            if (x < right) {
+                addGap(firstGap, x, bandTop, right, bandBottom);
+            }
+        }
+    }
+
+    /**
+     * Extend the gap of the band above when it spans the same columns, so a slot yields as few gaps as possible.
+     */
+    private void addGap(final int firstGap, final int left, final int top, final int right, final int bottom) {
+        for (int i = gapCount - 1; i >= firstGap; i--) {
+            if (gapBottoms[i] == top && gapLefts[i] == left && gapRights[i] == right) {
+                gapBottoms[i] = bottom;
+                return;
+            }
+        }
+
+        if (gapCount == gapLefts.length) {
+            gapLefts = copyOf(gapLefts, gapCount * 2);
+            gapRights = copyOf(gapRights, gapCount * 2);
+            gapTops = copyOf(gapTops, gapCount * 2);
+            gapBottoms = copyOf(gapBottoms, gapCount * 2);
+        }
+        gapLefts[gapCount] = left;
+        gapTops[gapCount] = top;
+        gapRights[gapCount] = right;
+        gapBottoms[gapCount] = bottom;
+        gapCount++;
+    }
+
+    private static void sort(final int[] values, final int count) {
+        // A handful of values, an insertion sort doesn't allocate.
+        for (int i = 1; i < count; i++) {
+            final int value = values[i];
+            int j = i;
+            while (j > 0 && values[j - 1] > value) {
+                values[j] = values[j - 1];
+                j--;
+            }
+            values[j] = value;
+        }
+    }
+
+    private static int[] copyOf(final int[] array, final int capacity) {
+        final int[] copy = new int[capacity];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        return copy;
+    }
+}
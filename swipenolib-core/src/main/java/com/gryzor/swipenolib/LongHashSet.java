@@ -0,0 +1,172 @@
+package com.gryzor.swipenolib;
+
+import java.util.Arrays;
+
+/**
+ * A minimal open-addressing hash set of primitive {@code long} values.
+ * Lookups never allocate or box, which makes it suitable for the per-frame swipe checks.
+ * This class is not thread safe.
+ */
+final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+
+    LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    LongHashSet(final int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    boolean add(final long key) {
+        if (key == EMPTY) {
+            if (containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = true;
+            size++;
+            return true;
+        }
+
+        int slot = slotFor(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        size++;
+        if (size * 4 > keys.length * 3) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    boolean contains(final long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+
+        int slot = slotFor(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean remove(final long key) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = false;
+            size--;
+            return true;
+        }
+
+        int slot = slotFor(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                shiftKeysBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsEmptyKey = false;
+        size = 0;
+    }
+
+    /**
+     * @return the values of the set, in no particular order.
+     */
+    long[] toArray() {
+        final long[] values = new long[size];
+        int count = 0;
+        if (containsEmptyKey) {
+            values[count++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                values[count++] = key;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Backward shift deletion, keeps the probe sequences intact without tombstones.
+     */
+    private void shiftKeysBack(int slot) {
+        int next = (slot + 1) & mask;
+        long key;
+        while ((key = keys[next]) != EMPTY) {
+            final int ideal = slotFor(key);
+            // Move the key back if its ideal slot is not in the (slot, next] cyclic range.
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = key;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = EMPTY;
+    }
+
+    private void rehash(final int newCapacity) {
+        final long[] oldKeys = keys;
+        allocate(newCapacity);
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int slot = slotFor(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slotFor(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
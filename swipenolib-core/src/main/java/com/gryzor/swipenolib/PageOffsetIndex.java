@@ -0,0 +1,155 @@
+package com.gryzor.swipenolib;
+
+/**
+ * Tracks where each page of a paged list starts once rows have been removed from (or inserted into) it.
+ * Pages are loaded with a fixed size, then each swipe shrinks the page that held the row: the positions of the
+ * following pages move back by one without reloading them. Page starts and page lookups cost O(log pages), with a
+ * Fenwick tree over the page sizes.
+ * Not thread safe.
+ */
+public final class PageOffsetIndex {
+
+    private final int pageSize;
+    private int pageCount;
+    private int totalCount;
+    private int[] counts;
+    private int[] tree;
+
+    /**
+     * @param pageSize the number of rows of a page, as loaded.
+     * @param totalCount the number of rows of the whole list, loaded or not.
+     */
+    public PageOffsetIndex(final int pageSize, final int totalCount) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        reset(totalCount);
+    }
+
+    /**
+     * Start over with every page at its full size, after the whole list has been reloaded.
+     */
+    public void reset(final int totalCount) {
+        if (totalCount < 0) {
+            throw new IllegalArgumentException("Negative count: " + totalCount);
+        }
+
+        this.totalCount = totalCount;
+        pageCount = (totalCount + pageSize - 1) / pageSize;
+        counts = new int[pageCount];
+        tree = new int[pageCount + 1];
+        for (int page = 0; page < pageCount; page++) {
+            counts[page] = Math.min(pageSize, totalCount - page * pageSize);
+        }
+
+        // Linear time build of the tree.
+        for (int i = 1; i <= pageCount; i++) {
+            tree[i] += counts[i - 1];
+            final int parent = i + (i & -i);
+            if (parent <= pageCount) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the number of rows left in the page.
+     */
+    public int getPageItemCount(final int page) {
+        return counts[page];
+    }
+
+    /**
+     * @return the current position of the first row of the page.
+     */
+    public int getPageStart(final int page) {
+        if (page < 0 || page > pageCount) {
+            throw new IndexOutOfBoundsException("Page: " + page + ", Count: " + pageCount);
+        }
+
+        int sum = 0;
+        for (int i = page; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return the page holding the row at {@code position}.
+     */
+    public int pageOf(final int position) {
+        if (position < 0 || position >= totalCount) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Count: " + totalCount);
+        }
+
+        // Walk down the tree, emptied pages are skipped.
+        int page = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(pageCount); step > 0; step >>= 1) {
+            final int next = page + step;
+            if (next <= pageCount && tree[next] <= remaining) {
+                page = next;
+                remaining -= tree[next];
+            }
+        }
+        return page;
+    }
+
+    /**
+     * @return the index of the row at {@code position} inside its page.
+     */
+    public int indexInPage(final int position) {
+        return position - getPageStart(pageOf(position));
+    }
+
+    /**
+     * A row has been removed.
+     * @return the page that held it.
+     */
+    public int remove(final int position) {
+        final int page = pageOf(position);
+        counts[page]--;
+        update(page, -1);
+        totalCount--;
+        return page;
+    }
+
+    /**
+     * A row has been inserted. A row inserted at the end goes to the last page.
+     * @return the page that holds it.
+     */
+    public int insert(final int position) {
+        if (position < 0 || position > totalCount) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Count: " + totalCount);
+        }
+        if (pageCount == 0) {
+            reset(1);
+            return 0;
+        }
+
+        final int page = position == totalCount ? pageCount - 1 : pageOf(position);
+        counts[page]++;
+        update(page, 1);
+        totalCount++;
+        return page;
+    }
+
+    private void update(final int page, final int delta) {
+        for (int i = page + 1; i <= pageCount; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.gryzor.swipenolib;
+
+/**
+ * A lazily loaded list, where some rows may still be placeholders waiting for their page.
+ * Pass it to {@code RecyclerViewItemSwipeHelper.Builder#setPagedSource(PagedSwipeSource)}: placeholder rows can't be
+ * swiped, the "last item" rule looks at the end of the whole list instead of the end of the loaded pages, and each
+ * swiped row is handed to {@link #onItemSwiped(int)} as soon as it's swiped.
+ * A {@link PageOffsetIndex} passed along with the source keeps the loaded pages in place while rows are removed.
+ * All methods are called from the main thread.
+ */
+public interface PagedSwipeSource {
+
+    /**
+     * @return true if the row at {@code position} isn't loaded yet.
+     */
+    boolean isPlaceholder(int position);
+
+    /**
+     * @return the number of rows of the whole list, loaded or not.
+     */
+    int getTotalCount();
+
+    /**
+     * Remove the row from your source (and forward the deletion to your backend).
+     * Don't notify the adapter, the helper does it.
+     * @param position the adapter position of the swiped row.
+     */
+    void onItemSwiped(int position);
+}
@@ -0,0 +1,241 @@
+package com.gryzor.swipenolib;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of disjoint, half-open {@code [start, end)} position ranges.
+ * Queries are a binary search over two primitive arrays and never allocate.
+ * The ranges can be shifted incrementally to follow adapter inserts, removes and moves.
+ * This class is not thread safe.
+ */
+final class PositionIntervals {
+
+    private int[] starts;
+    private int[] ends;
+    private int count;
+
+    PositionIntervals() {
+        starts = new int[4];
+        ends = new int[4];
+    }
+
+    /**
+     * Compiles a list of positions into ranges, consecutive positions become a single range.
+     * The supplied array is not modified.
+     */
+    static PositionIntervals fromPositions(final int[] positions) {
+        final PositionIntervals intervals = new PositionIntervals();
+        if (positions == null || positions.length == 0) {
+            return intervals;
+        }
+
+        int[] sorted = positions;
+        for (int i = 1; i < positions.length; i++) {
+            if (positions[i] < positions[i - 1]) {
+                sorted = Arrays.copyOf(positions, positions.length);
+                Arrays.sort(sorted);
+                break;
+            }
+        }
+
+        int runStart = sorted[0];
+        int runEnd = endAfter(runStart);
+        for (int i = 1; i < sorted.length; i++) {
+            final int position = sorted[i];
+            if (position > runEnd) {
+                intervals.add(runStart, runEnd);
+                runStart = position;
+            }
+            runEnd = Math.max(runEnd, endAfter(position));
+        }
+        intervals.add(runStart, runEnd);
+        return intervals;
+    }
+
+    /**
+     * @return the exclusive end of a range ending at {@code position}, an open range for Integer.MAX_VALUE.
+     */
+    static int endAfter(final int position) {
+        // The end of an open range, "up to the last row", must not wrap around.
+        return position == Integer.MAX_VALUE ? Integer.MAX_VALUE : position + 1;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int startAt(final int index) {
+        return starts[index];
+    }
+
+    int endAt(final int index) {
+        return ends[index];
+    }
+
+    boolean contains(final int position) {
+        // Find the last range starting at or before the position.
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (starts[mid] <= position) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && position < ends[high];
+    }
+
+    /**
+     * Adds the range {@code [start, end)}, merging it with any range it overlaps or touches.
+     */
+    void add(final int start, final int end) {
+        if (start >= end) {
+            return;
+        }
+
+        // First range that ends at or after start, last range that starts at or before end.
+        int first = 0;
+        while (first < count && ends[first] < start) {
+            first++;
+        }
+        int last = first - 1;
+        while (last + 1 < count && starts[last + 1] <= end) {
+            last++;
+        }
+
+        if (first > last) {
+            ensureCapacity(count + 1);
+            System.arraycopy(starts, first, starts, first + 1, count - first);
+            System.arraycopy(ends, first, ends, first + 1, count - first);
+            starts[first] = start;
+            ends[first] = end;
+            count++;
+            return;
+        }
+
+        final int mergedStart = Math.min(start, starts[first]);
+        final int mergedEnd = Math.max(end, ends[last]);
+        final int removed = last - first;
+        System.arraycopy(starts, last + 1, starts, first + 1, count - last - 1);
+        System.arraycopy(ends, last + 1, ends, first + 1, count - last - 1);
+        starts[first] = mergedStart;
+        ends[first] = mergedEnd;
+        count -= removed;
+    }
+
+    /**
+     * Removes the range {@code [start, end)} from the set, splitting a range if needed.
+     */
+    void remove(final int start, final int end) {
+        if (start >= end) {
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (ends[i] <= start || starts[i] >= end) {
+                continue;
+            }
+
+            if (starts[i] < start && ends[i] > end) {
+                // Split in two.
+                ensureCapacity(count + 1);
+                System.arraycopy(starts, i + 1, starts, i + 2, count - i - 1);
+                System.arraycopy(ends, i + 1, ends, i + 2, count - i - 1);
+                starts[i + 1] = end;
+                ends[i + 1] = ends[i];
+                ends[i] = start;
+                count++;
+                return;
+            }
+
+            if (starts[i] < start) {
+                ends[i] = start;
+            } else if (ends[i] > end) {
+                starts[i] = end;
+            } else {
+                System.arraycopy(starts, i + 1, starts, i, count - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, count - i - 1);
+                count--;
+                i--;
+            }
+        }
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Shifts the ranges after {@code itemCount} rows were inserted at {@code position}.
+     * Rows inserted strictly inside a range become part of it.
+     */
+    void onItemRangeInserted(final int position, final int itemCount) {
+        for (int i = 0; i < count; i++) {
+            if (starts[i] >= position) {
+                starts[i] += itemCount;
+            }
+            if (ends[i] > position) {
+                // An open range, up to Integer.MAX_VALUE, stays open.
+                ends[i] = ends[i] > Integer.MAX_VALUE - itemCount ? Integer.MAX_VALUE : ends[i] + itemCount;
+            }
+        }
+    }
+
+    /**
+     * Shifts and shrinks the ranges after {@code itemCount} rows were removed at {@code position}.
+     */
+    void onItemRangeRemoved(final int position, final int itemCount) {
+        final int removedEnd = position + itemCount;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            final int start = collapse(starts[i], position, removedEnd, itemCount);
+            final int end = collapse(ends[i], position, removedEnd, itemCount);
+            if (start >= end) {
+                continue;
+            }
+            if (kept > 0 && ends[kept - 1] >= start) {
+                ends[kept - 1] = Math.max(ends[kept - 1], end);
+            } else {
+                starts[kept] = start;
+                ends[kept] = end;
+                kept++;
+            }
+        }
+        count = kept;
+    }
+
+    /**
+     * Moves a single row from one position to the other, the row keeps its membership.
+     */
+    void onItemMoved(final int fromPosition, final int toPosition) {
+        final boolean member = contains(fromPosition);
+        onItemRangeRemoved(fromPosition, 1);
+        onItemRangeInserted(toPosition, 1);
+        if (member) {
+            add(toPosition, toPosition + 1);
+        } else {
+            remove(toPosition, toPosition + 1);
+        }
+    }
+
+    private static int collapse(final int value, final int removedStart, final int removedEnd, final int itemCount) {
+        if (value <= removedStart || value == Integer.MAX_VALUE) {
+            return value;
+        }
+        return value >= removedEnd ? value - itemCount : removedStart;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > starts.length) {
+            final int newLength = Math.max(capacity, starts.length << 1);
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+        }
+    }
+}
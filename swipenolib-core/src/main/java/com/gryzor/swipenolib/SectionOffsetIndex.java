@@ -0,0 +1,122 @@
+package com.gryzor.swipenolib;
+
+/**
+ * Tracks where each section of a list made of several sections starts. Changing the size of a section, or adding one
+ * at the end, costs O(log sections) and so do section starts and section lookups, with a Fenwick tree over the
+ * section sizes.
+ * Not thread safe.
+ */
+final class SectionOffsetIndex {
+
+    private int sectionCount;
+    private int totalCount;
+    private int[] counts = new int[8];
+    private int[] tree = new int[9];
+
+    int getSectionCount() {
+        return sectionCount;
+    }
+
+    int getTotalCount() {
+        return totalCount;
+    }
+
+    int getItemCount(final int section) {
+        checkSection(section);
+        return counts[section];
+    }
+
+    /**
+     * Add a section after the last one.
+     * @return the index of the new section.
+     */
+    int add(final int itemCount) {
+        checkCount(itemCount);
+        if (sectionCount == counts.length) {
+            grow(counts.length * 2);
+        }
+
+        final int section = sectionCount++;
+        counts[section] = itemCount;
+        // The new node covers the sections after the one its lowest bit skips back to.
+        final int i = sectionCount;
+        tree[i] = itemCount + prefix(i - 1) - prefix(i - (i & -i));
+        totalCount += itemCount;
+        return section;
+    }
+
+    void setItemCount(final int section, final int itemCount) {
+        checkSection(section);
+        checkCount(itemCount);
+
+        final int delta = itemCount - counts[section];
+        counts[section] = itemCount;
+        for (int i = section + 1; i <= sectionCount; i += i & -i) {
+            tree[i] += delta;
+        }
+        totalCount += delta;
+    }
+
+    /**
+     * @return the position of the first row of the section.
+     */
+    int getStart(final int section) {
+        if (section < 0 || section > sectionCount) {
+            throw new IndexOutOfBoundsException("Section: " + section + ", Count: " + sectionCount);
+        }
+        return prefix(section);
+    }
+
+    /**
+     * @return the section holding the row at {@code position}.
+     */
+    int sectionOf(final int position) {
+        if (position < 0 || position >= totalCount) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Count: " + totalCount);
+        }
+
+        // Walk down the tree, empty sections are skipped.
+        int section = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(sectionCount); step > 0; step >>= 1) {
+            final int next = section + step;
+            if (next <= sectionCount && tree[next] <= remaining) {
+                section = next;
+                remaining -= tree[next];
+            }
+        }
+        return section;
+    }
+
+    /**
+     * @return the sum of the sizes of the first {@code count} sections.
+     */
+    private int prefix(final int count) {
+        int sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void grow(final int capacity) {
+        final int[] grownCounts = new int[capacity];
+        System.arraycopy(counts, 0, grownCounts, 0, sectionCount);
+        counts = grownCounts;
+        final int[] grownTree = new int[capacity + 1];
+        System.arraycopy(tree, 0, grownTree, 0, sectionCount + 1);
+        tree = grownTree;
+    }
+
+    private void checkSection(final int section) {
+        if (section < 0 || section >= sectionCount) {
+            throw new IndexOutOfBoundsException("Section: " + section + ", Count: " + sectionCount);
+        }
+    }
+
+    private static void checkCount(final int itemCount) {
+        if (itemCount < 0) {
+            throw new IllegalArgumentException("Negative count: " + itemCount);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.gryzor.swipenolib;
+
+import java.util.List;
+
+/**
+ * Hides swiped rows right away without touching the backing data.
+ * Visible (adapter) positions are mapped to backing positions with a Fenwick tree, so hiding a row, restoring it
+ * and looking up a position are all O(log n), no matter how many rows are waiting to be deleted.
+ * The hidden rows are removed from the backing data later, in a single batch, with {@link #commit(List)} or
+ * {@link #commit(OnCommitListener)}.
+ * <p>
+ * A typical adapter returns {@link #getVisibleCount()} from {@code getItemCount()}, binds
+ * {@code items.get(map.toBackingPosition(position))} and, when a row is swiped, calls {@link #hide(int)}
+ * followed by {@code notifyItemRemoved(position)}.
+ * This class is not thread safe.
+ */
+public final class SoftDeletePositionMap {
+
+    private int size;
+    private int visibleCount;
+    private int[] tree;
+    private long[] hidden;
+
+    /**
+     * @param backingSize the number of items in the backing data.
+     */
+    public SoftDeletePositionMap(final int backingSize) {
+        reset(backingSize);
+    }
+
+    /**
+     * @return the number of rows in the backing data, hidden ones included.
+     */
+    public int getBackingSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of rows the adapter should display.
+     */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    /**
+     * @return the number of rows hidden and waiting for {@link #commit(List)}.
+     */
+    public int getHiddenCount() {
+        return size - visibleCount;
+    }
+
+    public boolean isHidden(final int backingPosition) {
+        return (hidden[backingPosition >>> 6] & (1L << backingPosition)) != 0;
+    }
+
+    /**
+     * @param visiblePosition an adapter position.
+     * @return the position of the same row in the backing data.
+     */
+    public int toBackingPosition(final int visiblePosition) {
+        if (visiblePosition < 0 || visiblePosition >= visibleCount) {
+            throw new IndexOutOfBoundsException("Visible position " + visiblePosition + ", count " + visibleCount);
+        }
+
+        // Descend the tree looking for the (visiblePosition + 1)th visible row.
+        int remaining = visiblePosition + 1;
+        int index = 0;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            final int next = index + step;
+            if (next <= size && tree[next] < remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param backingPosition a position in the backing data.
+     * @return the adapter position of the row, or -1 if it's hidden.
+     */
+    public int toVisiblePosition(final int backingPosition) {
+        if (isHidden(backingPosition)) {
+            return -1;
+        }
+        return prefixSum(backingPosition + 1) - 1;
+    }
+
+    /**
+     * Hide the row displayed at the given adapter position.
+     * @return the backing position of the hidden row, keep it if you want to {@link #unhide(int)} it later.
+     */
+    public int hide(final int visiblePosition) {
+        final int backingPosition = toBackingPosition(visiblePosition);
+        hidden[backingPosition >>> 6] |= 1L << backingPosition;
+        update(backingPosition, -1);
+        visibleCount--;
+        return backingPosition;
+    }
+
+    /**
+     * Show a hidden row again, for instance to undo a swipe.
+     * @return the adapter position where the row is displayed again, or -1 if it wasn't hidden.
+     */
+    public int unhide(final int backingPosition) {
+        if (!isHidden(backingPosition)) {
+            return -1;
+        }
+        hidden[backingPosition >>> 6] &= ~(1L << backingPosition);
+        update(backingPosition, 1);
+        visibleCount++;
+        return prefixSum(backingPosition + 1) - 1;
+    }
+
+    /**
+     * Remove the hidden items from the backing list in one pass and start over with every row visible.
+     * @param backing the backing data, its size must be {@link #getBackingSize()}.
+     */
+    public <T> void commit(final List<T> backing) {
+        if (backing.size() != size) {
+            throw new IllegalStateException("Backing list has " + backing.size() + " items, expected " + size);
+        }
+
+        if (visibleCount < size) {
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                if (!isHidden(read)) {
+                    if (write != read) {
+                        backing.set(write, backing.get(read));
+                    }
+                    write++;
+                }
+            }
+            backing.subList(write, size).clear();
+        }
+        reset(visibleCount);
+    }
+
+    /**
+     * Hand the hidden backing positions to the listener, in descending order, and start over with every row
+     * visible. Use this when the backing data is not a {@link List}.
+     */
+    public void commit(final OnCommitListener listener) {
+        final int hiddenCount = getHiddenCount();
+        if (hiddenCount > 0) {
+            final int[] positions = new int[hiddenCount];
+            int count = 0;
+            for (int position = size - 1; position >= 0; position--) {
+                if (isHidden(position)) {
+                    positions[count++] = position;
+                }
+            }
+            listener.onCommit(positions);
+        }
+        reset(visibleCount);
+    }
+
+    /**
+     * Start over with a new backing size and every row visible. Call it after the backing data changed by
+     * other means than {@link #commit(List)}.
+     */
+    public void reset(final int backingSize) {
+        if (backingSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + backingSize);
+        }
+
+        size = backingSize;
+        visibleCount = backingSize;
+        tree = new int[backingSize + 1];
+        hidden = new long[(backingSize >>> 6) + 1];
+
+        // Linear time build of a tree where every row counts as one.
+        for (int i = 1; i <= backingSize; i++) {
+            tree[i]++;
+            final int parent = i + (i & -i);
+            if (parent <= backingSize) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void update(final int backingPosition, final int delta) {
+        for (int i = backingPosition + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefixSum(int count) {
+        int sum = 0;
+        for (; count > 0; count -= count & -count) {
+            sum += tree[count];
+        }
+        return sum;
+    }
+
+    /**
+     * Receives the backing positions to delete, in descending order.
+     */
+    public interface OnCommitListener {
+        void onCommit(int[] backingPositions);
+    }
+}
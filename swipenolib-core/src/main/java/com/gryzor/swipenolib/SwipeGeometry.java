@@ -0,0 +1,150 @@
+package com.gryzor.swipenolib;
+
+/**
+ * The layout math used to draw a swipe, kept free of Android types so it can be tested and benchmarked on any JVM.
+ * {@code RecyclerViewItemSwipeHelper} and {@code RecyclerViewSwipeHelperDecorator} delegate to it.
+ */
+final class SwipeGeometry {
+
+    static final int GAP_TOP = 0;
+    static final int GAP_BOTTOM = 1;
+
+    private SwipeGeometry() {
+    }
+
+    /**
+     * @return the left edge of the background revealed when a row is swiped by {@code deltaX} (negative to start).
+     */
+    static int revealedLeft(final int itemRight, final float deltaX) {
+        return itemRight + (int) deltaX;
+    }
+
+    /**
+     * @return the left edge of a label aligned to the end of the row, {@code margin} pixels away from it.
+     */
+    static int labelLeft(final int itemRight, final int margin, final int labelWidth) {
+        return itemRight - margin - labelWidth;
+    }
+
+    /**
+     * @return the top of something {@code height} pixels high, vertically centered in the row.
+     */
+    static int centeredTop(final int itemTop, final int itemBottom, final int height) {
+        return itemTop + (itemBottom - itemTop - height) / 2;
+    }
+
+    /**
+     * Find the area not covered by any row while rows translate to fill the void left by a removed one.
+     * Rows above the void come down (negative translation), rows below it come up (positive translation).
+     * @param children the rows to look at, in any order.
+     * @param out receives the gap, at {@link #GAP_TOP} and {@link #GAP_BOTTOM}.
+     * @return true if there is a gap to draw.
+     */
+    static boolean findGap(final Children children, final int[] out) {
+        int lastComingDown = -1;
+        int lastComingDownTop = Integer.MIN_VALUE;
+        int firstComingUp = -1;
+        int firstComingUpTop = Integer.MAX_VALUE;
+
+        final int count = children.getCount();
+        for (int i = 0; i < count; i++) {
+            final float translationY = children.getTranslationY(i);
+            if (translationY < 0) {
+                final int top = children.getTop(i);
+                if (top > lastComingDownTop) {
+                    lastComingDown = i;
+                    lastComingDownTop = top;
+                }
+            } else if (translationY > 0) {
+                final int top = children.getTop(i);
+                if (top < firstComingUpTop) {
+                    firstComingUp = i;
+                    firstComingUpTop = top;
+                }
+            }
+        }
+
+        int top = 0;
+        int bottom = 0;
+        if (lastComingDown != -1 && firstComingUp != -1) {
+            // Views are coming down AND going up to fill the void
+            top = children.getBottom(lastComingDown) + (int) children.getTranslationY(lastComingDown);
+            bottom = firstComingUpTop + (int) children.getTranslationY(firstComingUp);
+        } else if (lastComingDown != -1) {
+            // Views are going down to fill the void.
+            final int lastBottom = children.getBottom(lastComingDown);
+            top = lastBottom + (int) children.getTranslationY(lastComingDown);
+            bottom = lastBottom;
+        } else if (firstComingUp != -1) {
+            // views are coming up to fill the void
+            top = firstComingUpTop;
+            bottom = firstComingUpTop + (int) children.getTranslationY(firstComingUp);
+        }
+
+        out[GAP_TOP] = top;
+        out[GAP_BOTTOM] = bottom;
+        return bottom > top;
+    }
+
+    /**
+     * Same as {@link #findGap(Children, int[])}, for grids. Cells don't only move vertically there: removing one moves
+     * the next cells sideways, and the one wrapping to the previous row diagonally. The gaps are the parts of the slots
+     * of the moving cells, where they are laid out, that no cell covers once translated. Doesn't allocate once the
+     * buffers of {@code out} have grown to the number of cells.
+     * @param children the cells to look at, in any order.
+     * @param out receives the gaps.
+     * @return the number of gaps to draw.
+     */
+    static int findGridGaps(final GridChildren children, final GridGaps out) {
+        final int count = children.getCount();
+        out.clear(count);
+
+        boolean moving = false;
+        for (int i = 0; i < count; i++) {
+            final int translationX = (int) children.getTranslationX(i);
+            final int translationY = (int) children.getTranslationY(i);
+            out.setCell(i,
+                    children.getLeft(i) + translationX,
+                    children.getTop(i) + translationY,
+                    children.getRight(i) + translationX,
+                    children.getBottom(i) + translationY);
+            moving |= translationX != 0 || translationY != 0;
+        }
+        if (!moving) {
+            return 0;
+        }
+
+        for (int i = 0; i < count; i++) {
+            // A cell in place covers its own slot.
+            if ((int) children.getTranslationX(i) != 0 || (int) children.getTranslationY(i) != 0) {
+                out.subtract(
+                        children.getLeft(i), children.getTop(i), children.getRight(i), children.getBottom(i), count);
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * Read-only access to the rows of a list, by index.
+     */
+    interface Children {
+        int getCount();
+
+        int getTop(int index);
+
+        int getBottom(int index);
+
+        float getTranslationY(int index);
+    }
+
+    /**
+     * Read-only access to the cells of a grid, by index.
+     */
+    interface GridChildren extends Children {
+        int getLeft(int index);
+
+        int getRight(int index);
+
+        float getTranslationX(int index);
+    }
+}
@@ -0,0 +1,390 @@
+package com.gryzor.swipenolib;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A write-behind journal of swipe deletions. {@link #append(long)} only records the id of the swiped item in memory,
+ * a background thread then appends the pending deletions to a file in one write and one sync (group commit), and
+ * hands them to your {@link Applier} in one batch, to delete them from your database in a single transaction.
+ * Once applied, the file is emptied.
+ * Deletions written but not applied, because the process died or the applier failed, are applied again when a
+ * journal is opened on the same file, and after the next batch. A record torn by a crash is cut off when the journal
+ * is opened. Deletions that could neither be written nor applied are kept in memory and retried with the next batch.
+ * Applying must therefore be idempotent, which deleting is. Deletions appended less than the group commit delay
+ * before the process dies are lost.
+ * Thread safe.
+ */
+public final class SwipeJournal implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(SwipeJournal.class.getName());
+
+    // id, timestamp, check.
+    private static final int RECORD_SIZE = 24;
+    private static final long CHECK_MAGIC = 0x5357495045L;
+    private static final int DEFAULT_GROUP_COMMIT_MILLIS = 200;
+    private static final int DEFAULT_MAX_BATCH = 256;
+
+    private final FileChannel channel;
+    private final Applier applier;
+    private final long groupCommitMillis;
+    private final int maxBatch;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+    // Pairs of id and timestamp, swapped with the spare buffer by the writer.
+    private long[] pending = new long[2 * 64];
+    private long[] spare = new long[2 * 64];
+    private int pendingCount;
+    private long appendedCount;
+    private long committedCount;
+    private boolean flushRequested;
+    private boolean closed;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 64);
+    private boolean needsReplay;
+    // The end of the last whole record, the next write starts there.
+    private long end;
+    // Pairs of id and timestamp that are neither in the file nor applied yet.
+    private long[] unwritten = new long[0];
+    private int unwrittenCount;
+
+    /**
+     * Open the journal with a 200ms group commit delay and batches of at most 256 deletions.
+     * @param file the journal file, created if needed.
+     * @param applier applies the deletions, on the journal thread.
+     */
+    public SwipeJournal(final File file, final Applier applier) throws IOException {
+        this(file, applier, DEFAULT_GROUP_COMMIT_MILLIS, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * @param file the journal file, created if needed.
+     * @param applier applies the deletions, on the journal thread.
+     * @param groupCommitMillis how long to wait for more deletions before committing a batch.
+     * @param maxBatch the number of pending deletions that commits a batch right away.
+     */
+    public SwipeJournal(
+            final File file,
+            final Applier applier,
+            final long groupCommitMillis,
+            final int maxBatch) throws IOException {
+        this.channel = new RandomAccessFile(file, "rw").getChannel();
+        this.applier = applier;
+        this.groupCommitMillis = groupCommitMillis;
+        this.maxBatch = Math.max(1, maxBatch);
+
+        // Whatever a previous process left is applied first, without the record it was writing when it died.
+        end = validLength();
+        if (channel.size() > end) {
+            LOG.warning("Torn or corrupted swipe journal record, ignoring the rest of the journal");
+            channel.truncate(end);
+        }
+        needsReplay = end > 0;
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runWriter();
+            }
+        }, "SwipeJournal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Record the deletion of an item. Never blocks on I/O.
+     * @param itemId the stable id of the swiped item.
+     */
+    public void append(final long itemId) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The journal is closed.");
+            }
+            if (2 * pendingCount + 2 > pending.length) {
+                final long[] grown = new long[pending.length * 2];
+                System.arraycopy(pending, 0, grown, 0, 2 * pendingCount);
+                pending = grown;
+            }
+            pending[2 * pendingCount] = itemId;
+            pending[2 * pendingCount + 1] = System.currentTimeMillis();
+            pendingCount++;
+            appendedCount++;
+            if (pendingCount == 1 || pendingCount >= maxBatch) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Commit the pending deletions now, and wait until they are written and handed to the applier.
+     */
+    public void flush() throws InterruptedException {
+        synchronized (lock) {
+            final long target = appendedCount;
+            flushRequested = true;
+            lock.notifyAll();
+            while (committedCount < target && writer.isAlive()) {
+                lock.wait();
+            }
+        }
+    }
+
+    /**
+     * Commit the pending deletions, stop the journal thread and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void runWriter() {
+        if (needsReplay) {
+            applyJournal();
+        }
+
+        while (true) {
+            final long[] batch;
+            final int count;
+            synchronized (lock) {
+                try {
+                    while (pendingCount == 0 && !closed) {
+                        lock.wait();
+                    }
+                    if (groupCommitMillis > 0 && pendingCount < maxBatch && !closed && !flushRequested) {
+                        // Group commit: give the next swipes a chance to join this batch.
+                        lock.wait(groupCommitMillis);
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+
+                if (pendingCount == 0 && closed) {
+                    if (unwrittenCount > 0) {
+                        LOG.warning("Closing the swipe journal with " + unwrittenCount + " deletions never written "
+                                + "nor applied");
+                    }
+                    lock.notifyAll();
+                    return;
+                }
+
+                batch = pending;
+                count = pendingCount;
+                pending = spare;
+                spare = batch;
+                pendingCount = 0;
+                flushRequested = false;
+            }
+
+            commit(batch, count);
+
+            synchronized (lock) {
+                committedCount += count;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void commit(final long[] batch, final int count) {
+        // The deletions that could neither be written nor applied before go first, in swipe order.
+        long[] records = batch;
+        int recordCount = count;
+        if (unwrittenCount > 0) {
+            keepUnwritten(batch, count);
+            records = unwritten;
+            recordCount = unwrittenCount;
+        }
+
+        boolean written = true;
+        try {
+            write(records, recordCount);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not write the swipe journal", e);
+            written = false;
+        }
+
+        if (written) {
+            unwrittenCount = 0;
+            if (needsReplay) {
+                // The batch follows the records that failed before, in the file.
+                applyJournal();
+                return;
+            }
+        }
+
+        final long[] ids = new long[recordCount];
+        final long[] timestamps = new long[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            ids[i] = records[2 * i];
+            timestamps[i] = records[2 * i + 1];
+        }
+        // Without the write, the batch isn't durable but is still applied, the file is left as is.
+        if (apply(ids, timestamps, written)) {
+            unwrittenCount = 0;
+        } else if (!written && records == batch) {
+            // The batch array is reused for the next swipes.
+            keepUnwritten(batch, count);
+        }
+    }
+
+    private void keepUnwritten(final long[] batch, final int count) {
+        if (2 * (unwrittenCount + count) > unwritten.length) {
+            final long[] grown = new long[2 * (unwrittenCount + count)];
+            System.arraycopy(unwritten, 0, grown, 0, 2 * unwrittenCount);
+            unwritten = grown;
+        }
+        System.arraycopy(batch, 0, unwritten, 2 * unwrittenCount, 2 * count);
+        unwrittenCount += count;
+    }
+
+    private void write(final long[] batch, final int count) throws IOException {
+        if (buffer.capacity() < count * RECORD_SIZE) {
+            buffer = ByteBuffer.allocate(count * RECORD_SIZE);
+        }
+        buffer.clear();
+        for (int i = 0; i < count; i++) {
+            final long id = batch[2 * i];
+            final long timestamp = batch[2 * i + 1];
+            buffer.putLong(id).putLong(timestamp).putLong(check(id, timestamp));
+        }
+        buffer.flip();
+
+        if (channel.size() > end) {
+            // A write that failed halfway.
+            channel.truncate(end);
+        }
+        channel.position(end);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        end += count * RECORD_SIZE;
+    }
+
+    /**
+     * @return the length of the records of the file up to the first torn or corrupted one.
+     */
+    private long validLength() throws IOException {
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        long length = 0;
+        channel.position(0);
+        while (true) {
+            record.clear();
+            while (record.hasRemaining() && channel.read(record) >= 0) {
+                // Read until full.
+            }
+            if (record.hasRemaining()) {
+                return length;
+            }
+            record.flip();
+            if (record.getLong(16) != check(record.getLong(0), record.getLong(8))) {
+                return length;
+            }
+            length += RECORD_SIZE;
+        }
+    }
+
+    /**
+     * Apply every record of the file, stopping at the first torn or corrupted one.
+     */
+    private void applyJournal() {
+        try {
+            final int recordCount = (int) Math.min(end / RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE);
+            final ByteBuffer records = ByteBuffer.allocate(recordCount * RECORD_SIZE);
+            channel.position(0);
+            while (records.hasRemaining() && channel.read(records) >= 0) {
+                // Read until full.
+            }
+            records.flip();
+
+            final long[] ids = new long[recordCount];
+            final long[] timestamps = new long[recordCount];
+            int valid = 0;
+            while (records.remaining() >= RECORD_SIZE) {
+                final long id = records.getLong();
+                final long timestamp = records.getLong();
+                if (records.getLong() != check(id, timestamp)) {
+                    LOG.warning("Corrupted swipe journal record, ignoring the rest of the journal");
+                    break;
+                }
+                ids[valid] = id;
+                timestamps[valid] = timestamp;
+                valid++;
+            }
+
+            if (valid < recordCount) {
+                final long[] validIds = new long[valid];
+                final long[] validTimestamps = new long[valid];
+                System.arraycopy(ids, 0, validIds, 0, valid);
+                System.arraycopy(timestamps, 0, validTimestamps, 0, valid);
+                apply(validIds, validTimestamps, true);
+            } else {
+                apply(ids, timestamps, true);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read the swipe journal", e);
+        }
+    }
+
+    /**
+     * @param coversFile true if the deletions are all the records of the file, which can then be emptied.
+     * @return false if the applier failed.
+     */
+    private boolean apply(final long[] ids, final long[] timestamps, final boolean coversFile) {
+        if (ids.length > 0) {
+            try {
+                applier.apply(ids, timestamps);
+            } catch (Exception e) {
+                // Kept in the file or in memory, applied again with the next batch.
+                LOG.log(Level.WARNING, "Could not apply the swiped deletions, will retry", e);
+                needsReplay |= coversFile;
+                return false;
+            }
+        }
+
+        if (!coversFile) {
+            return true;
+        }
+
+        // Checkpoint: everything in the file has been applied.
+        needsReplay = false;
+        try {
+            channel.truncate(0);
+            end = 0;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not truncate the swipe journal", e);
+        }
+        return true;
+    }
+
+    private static long check(final long id, final long timestamp) {
+        return id ^ Long.rotateLeft(timestamp, 32) ^ CHECK_MAGIC;
+    }
+
+    /**
+     * Applies swiped deletions to your storage, on the journal thread.
+     */
+    public interface Applier {
+        /**
+         * @param itemIds the ids of the deleted items, in swipe order. May contain ids already applied.
+         * @param timestamps when each item was swiped, in milliseconds since the epoch.
+         * @throws Exception to have the batch applied again later.
+         */
+        void apply(long[] itemIds, long[] timestamps) throws Exception;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gryzor.swipenolib;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in measurements of the swipe hot paths. Pass the same instance to
+ * {@code RecyclerViewItemSwipeHelper.Builder.setMetrics} and {@code RecyclerViewSwipeHelperDecorator.Builder.setMetrics}.
+ * When no instance is set, the helpers skip all measurements.
+ * Recording is lock-free, reading and {@link #export()} can happen from any thread.
+ */
+public final class SwipeMetrics {
+
+    private final LatencyHistogram childDrawNanos = new LatencyHistogram();
+    private final LatencyHistogram decoratorDrawNanos = new LatencyHistogram();
+    private final LatencyHistogram swipeCallbackNanos = new LatencyHistogram();
+    private final AtomicLong swipeDirsCalls = new AtomicLong();
+    private volatile boolean tracingEnabled;
+    private volatile Listener listener;
+
+    /**
+     * @return the durations of {@code onChildDraw}, one sample per swipe frame.
+     */
+    public LatencyHistogram getChildDrawNanos() {
+        return childDrawNanos;
+    }
+
+    /**
+     * @return the durations of the decorator's {@code onDraw}, one sample per frame.
+     */
+    public LatencyHistogram getDecoratorDrawNanos() {
+        return decoratorDrawNanos;
+    }
+
+    /**
+     * @return the time between the release of a swipe and the call to the swipe listener.
+     */
+    public LatencyHistogram getSwipeCallbackNanos() {
+        return swipeCallbackNanos;
+    }
+
+    /**
+     * @return the number of times the helper checked if a row can be swiped.
+     */
+    public long getSwipeDirsCalls() {
+        return swipeDirsCalls.get();
+    }
+
+    /**
+     * Wrap the measured sections in systrace sections (Android 4.3 and newer), visible in systrace and
+     * the Android Studio profiler.
+     */
+    public void setTracingEnabled(final boolean enabled) {
+        tracingEnabled = enabled;
+    }
+
+    public boolean isTracingEnabled() {
+        return tracingEnabled;
+    }
+
+    public void setListener(final Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Hand the metrics to the {@link Listener}, if any.
+     */
+    public void export() {
+        final Listener current = listener;
+        if (current != null) {
+            current.onExport(this);
+        }
+    }
+
+    public void reset() {
+        childDrawNanos.reset();
+        decoratorDrawNanos.reset();
+        swipeCallbackNanos.reset();
+        swipeDirsCalls.set(0);
+    }
+
+    void onSwipeDirs() {
+        swipeDirsCalls.incrementAndGet();
+    }
+
+    /**
+     * Receives the metrics on {@link #export()}, on the calling thread.
+     */
+    public interface Listener {
+        void onExport(SwipeMetrics metrics);
+    }
+}
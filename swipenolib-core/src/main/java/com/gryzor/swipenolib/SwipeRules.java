@@ -0,0 +1,128 @@
+package com.gryzor.swipenolib;
+
+import java.util.Arrays;
+
+/**
+ * A set of rules that disable swipe on whole position ranges, view types or on rows matching a {@link Predicate}.
+ * The rules are compiled into compact range and bit set structures that {@link RecyclerViewItemSwipeHelper}
+ * queries on every frame without allocating.
+ * Once passed to {@link RecyclerViewItemSwipeHelper.Builder#setSwipeRules(SwipeRules)}, the position ranges
+ * follow the adapter notifications (inserts, removes and moves), so they don't need to be rebuilt when the list
+ * changes. Because of that, an instance must not be shared between two helpers.
+ * All methods must be called from the main thread.
+ */
+public final class SwipeRules {
+
+    private static final int VIEW_TYPE_MASK_BITS = 64;
+
+    private final PositionIntervals disabledRanges = new PositionIntervals();
+    private long disabledViewTypeMask;
+    private int[] disabledViewTypes;
+    private Predicate predicate;
+
+    /**
+     * Disable swipe on every position in {@code [fromPosition, toPosition]}, both ends included.
+     * Pass {@link Integer#MAX_VALUE} as {@code toPosition} to disable everything from {@code fromPosition} on.
+     * @return this instance.
+     */
+    public SwipeRules disableRange(final int fromPosition, final int toPosition) {
+        disabledRanges.add(fromPosition, PositionIntervals.endAfter(toPosition));
+        return this;
+    }
+
+    /**
+     * Enable swipe again on every position in {@code [fromPosition, toPosition]}, both ends included.
+     * @return this instance.
+     */
+    public SwipeRules enableRange(final int fromPosition, final int toPosition) {
+        disabledRanges.remove(fromPosition, PositionIntervals.endAfter(toPosition));
+        return this;
+    }
+
+    /**
+     * Disable swipe on individual positions. Consecutive positions are stored as a single range.
+     * @return this instance.
+     */
+    public SwipeRules disablePositions(final int... positions) {
+        final PositionIntervals compiled = PositionIntervals.fromPositions(positions);
+        for (int i = 0; i < compiled.size(); i++) {
+            disabledRanges.add(compiled.startAt(i), compiled.endAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Disable swipe on all the rows with one of the given view types, as returned by {@code Adapter.getItemViewType(int)}.
+     * @return this instance.
+     */
+    public SwipeRules disableViewTypes(final int... viewTypes) {
+        for (int viewType : viewTypes) {
+            if (viewType >= 0 && viewType < VIEW_TYPE_MASK_BITS) {
+                disabledViewTypeMask |= 1L << viewType;
+            } else if (disabledViewTypes == null) {
+                disabledViewTypes = new int[]{viewType};
+            } else if (Arrays.binarySearch(disabledViewTypes, viewType) < 0) {
+                disabledViewTypes = Arrays.copyOf(disabledViewTypes, disabledViewTypes.length + 1);
+                disabledViewTypes[disabledViewTypes.length - 1] = viewType;
+                Arrays.sort(disabledViewTypes);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Disable swipe on the rows for which the predicate returns true. The predicate is called on every
+     * swipe check, keep it cheap.
+     * @return this instance.
+     */
+    public SwipeRules disableWhen(final Predicate predicate) {
+        this.predicate = predicate;
+        return this;
+    }
+
+    boolean hasPredicate() {
+        return predicate != null;
+    }
+
+    /**
+     * Remove every rule.
+     */
+    public void clear() {
+        disabledRanges.clear();
+        disabledViewTypeMask = 0;
+        disabledViewTypes = null;
+        predicate = null;
+    }
+
+    public boolean isSwipeDisabled(final int position, final int viewType) {
+        if (viewType >= 0 && viewType < VIEW_TYPE_MASK_BITS) {
+            if ((disabledViewTypeMask & (1L << viewType)) != 0) {
+                return true;
+            }
+        } else if (disabledViewTypes != null && Arrays.binarySearch(disabledViewTypes, viewType) >= 0) {
+            return true;
+        }
+
+        return disabledRanges.contains(position)
+                || (predicate != null && predicate.isSwipeDisabled(position, viewType));
+    }
+
+    void onItemRangeInserted(final int positionStart, final int itemCount) {
+        disabledRanges.onItemRangeInserted(positionStart, itemCount);
+    }
+
+    void onItemRangeRemoved(final int positionStart, final int itemCount) {
+        disabledRanges.onItemRangeRemoved(positionStart, itemCount);
+    }
+
+    void onItemMoved(final int fromPosition, final int toPosition) {
+        disabledRanges.onItemMoved(fromPosition, toPosition);
+    }
+
+    /**
+     * A custom rule evaluated on each swipe check.
+     */
+    public interface Predicate {
+        boolean isSwipeDisabled(int position, int viewType);
+    }
+}
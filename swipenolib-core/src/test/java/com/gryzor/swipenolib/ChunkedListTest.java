@@ -0,0 +1,61 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ChunkedListTest {
+
+    @Test
+    public void addAndRemove_behaveLikeAnArrayList() throws Exception {
+        List<Integer> expected = new ArrayList<>();
+        ChunkedList<Integer> list = new ChunkedList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            int index = random.nextInt(expected.size() + 1);
+            expected.add(index, i);
+            list.add(index, i);
+        }
+        for (int i = 0; i < 4900; i++) {
+            int index = random.nextInt(expected.size());
+            assertEquals(expected.remove(index), list.remove(index));
+        }
+
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void removeAll_packsEmptyChunks() throws Exception {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(i);
+        }
+        ChunkedList<Integer> list = new ChunkedList<>(items);
+
+        list.subList(10, 990).clear();
+
+        assertEquals(20, list.size());
+        assertEquals(Integer.valueOf(9), list.get(9));
+        assertEquals(Integer.valueOf(990), list.get(10));
+        list.add(1, -1);
+        assertEquals(Integer.valueOf(-1), list.get(1));
+    }
+
+    @Test
+    public void set_replacesInPlace() throws Exception {
+        ChunkedList<String> list = new ChunkedList<>(Arrays.asList("a", "b", "c"));
+        assertEquals("b", list.set(1, "x"));
+        assertEquals(Arrays.asList("a", "x", "c"), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfBounds_throws() throws Exception {
+        new ChunkedList<String>().get(0);
+    }
+}
@@ -0,0 +1,251 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Guards the per-frame cost of the core code the swipe callbacks delegate to, over a 100k rows list: the
+ * {@link DisabledRows} check {@code SwipeEligibility} runs for {@code getSwipeDirs}, the position map and chunked list
+ * lookups of a bind, the layout math of the swiped row and the gap math {@code GapTracker} runs during a removal.
+ * The Android side of the callbacks, the view bookkeeping and the drawing itself, isn't covered.
+ * Each frame must not allocate, and must stay far below the 16ms frame budget.
+ */
+public class CoreStructuresBudgetTest {
+
+    private static final int ROW_COUNT = 100000;
+    private static final int VISIBLE_ROWS = 12;
+    private static final int ROW_HEIGHT = 100;
+    private static final int ROW_WIDTH = 1080;
+    private static final int FRAMES = 5000;
+    private static final int WARMUP_FRAMES = 20000;
+
+    // Leaves room for the measurement itself, a frame that allocates anything exceeds it quickly.
+    private static final long ALLOCATION_BUDGET_BYTES = 1024;
+    private static final long FRAME_BUDGET_NANOS = 50000;
+    // Percentiles are rounded up to the next power of two.
+    private static final long P99_FRAME_BUDGET_NANOS = 2 * FRAME_BUDGET_NANOS;
+
+    private DisabledRows disabledRows;
+    private SoftDeletePositionMap positionMap;
+    private ChunkedList<String> items;
+    private LatencyHistogram histogram;
+    private final int[] gap = new int[2];
+    private final float[] translations = new float[VISIBLE_ROWS];
+    private final GridGaps gridGaps = new GridGaps();
+
+    private final SwipeGeometry.Children children = new SwipeGeometry.Children() {
+        @Override
+        public int getCount() {
+            return VISIBLE_ROWS;
+        }
+
+        @Override
+        public int getTop(final int index) {
+            return index * ROW_HEIGHT;
+        }
+
+        @Override
+        public int getBottom(final int index) {
+            return index * ROW_HEIGHT + ROW_HEIGHT;
+        }
+
+        @Override
+        public float getTranslationY(final int index) {
+            return translations[index];
+        }
+    };
+
+    // The same cells laid out as a 3 columns grid.
+    private final SwipeGeometry.GridChildren gridChildren = new SwipeGeometry.GridChildren() {
+        @Override
+        public int getCount() {
+            return VISIBLE_ROWS;
+        }
+
+        @Override
+        public int getLeft(final int index) {
+            return (index % 3) * (ROW_WIDTH / 3);
+        }
+
+        @Override
+        public int getRight(final int index) {
+            return (index % 3 + 1) * (ROW_WIDTH / 3);
+        }
+
+        @Override
+        public int getTop(final int index) {
+            return (index / 3) * ROW_HEIGHT;
+        }
+
+        @Override
+        public int getBottom(final int index) {
+            return (index / 3) * ROW_HEIGHT + ROW_HEIGHT;
+        }
+
+        @Override
+        public float getTranslationX(final int index) {
+            // Cells move sideways as much as the rows of the list move up.
+            return translations[index];
+        }
+
+        @Override
+        public float getTranslationY(final int index) {
+            return translations[index];
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        final SwipeRules rules = new SwipeRules();
+        for (int start = 0; start < ROW_COUNT; start += 1000) {
+            rules.disableRange(start, start + 49);
+        }
+        rules.disableViewTypes(1, 63);
+
+        final long[] disabledIds = new long[(ROW_COUNT + 6) / 7];
+        for (int i = 0; i < disabledIds.length; i++) {
+            disabledIds[i] = i * 7 * 31L;
+        }
+        disabledRows = new DisabledRows(new int[]{3, 5, 8}, disabledIds, true, rules, null);
+
+        positionMap = new SoftDeletePositionMap(ROW_COUNT);
+        for (int i = 0; i < 2000; i++) {
+            positionMap.hide(i * 40);
+        }
+
+        final String[] values = new String[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            values[i] = "Row " + i;
+        }
+        items = new ChunkedList<>(Arrays.asList(values));
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void swipeFrames_stayWithinBudget() throws Exception {
+        runFrames(WARMUP_FRAMES, false);
+        histogram.reset();
+        final Measure measure = Measure.start();
+        final long sink = runFrames(FRAMES, false);
+        measure.stop();
+
+        assertTrue(sink != 42);
+        measure.assertWithinBudget("swipe frames");
+        assertPercentileWithinBudget("swipe frames");
+    }
+
+    @Test
+    public void removalAnimationFrames_stayWithinBudget() throws Exception {
+        runFrames(WARMUP_FRAMES, true);
+        histogram.reset();
+        final Measure measure = Measure.start();
+        final long sink = runFrames(FRAMES, true);
+        measure.stop();
+
+        assertTrue(sink != 42);
+        measure.assertWithinBudget("removal animation frames");
+        assertPercentileWithinBudget("removal animation frames");
+    }
+
+    /**
+     * A slow frame now and then doesn't show in the mean, it does in the 99th percentile.
+     */
+    private void assertPercentileWithinBudget(final String scenario) {
+        assertEquals(FRAMES, histogram.getCount());
+        final long p99 = histogram.getPercentileNanos(99);
+        assertTrue(scenario + " took up to " + p99 + "ns per frame at the 99th percentile",
+                p99 <= P99_FRAME_BUDGET_NANOS);
+    }
+
+    /**
+     * One frame: the swipe checks and the bind lookup of every visible row, the layout of the swiped row and,
+     * during a removal animation, the gap scans of a list and of a grid.
+     * @return a value depending on every result, so nothing is optimized away.
+     */
+    private long runFrames(final int frames, final boolean animatingRemoval) {
+        long sink = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            final long start = System.nanoTime();
+            final int first = (int) ((frame * 7919L) % (positionMap.getVisibleCount() - VISIBLE_ROWS));
+
+            for (int row = 0; row < VISIBLE_ROWS; row++) {
+                final int position = first + row;
+                // getSwipeDirs, through SwipeEligibility
+                if (disabledRows.isSwipeDisabled(position * 31L, position, row & 3, ROW_COUNT)) {
+                    sink++;
+                }
+                // onBindViewHolder
+                final int backing = positionMap.toBackingPosition(position);
+                sink += items.get(backing).length();
+            }
+
+            // onChildDraw of the swiped row, its layout math only
+            final float deltaX = -(frame % ROW_WIDTH);
+            final int revealedLeft = SwipeGeometry.revealedLeft(ROW_WIDTH, deltaX);
+            final int labelLeft = SwipeGeometry.labelLeft(ROW_WIDTH, 48, 72);
+            sink += revealedLeft + labelLeft + SwipeGeometry.centeredTop(0, ROW_HEIGHT, 72);
+
+            // decorator onDraw, through GapTracker
+            if (animatingRemoval) {
+                final float progress = ROW_HEIGHT - (frame % ROW_HEIGHT);
+                for (int row = 0; row < VISIBLE_ROWS; row++) {
+                    translations[row] = row > VISIBLE_ROWS / 2 ? progress : 0;
+                }
+                if (SwipeGeometry.findGap(children, gap)) {
+                    sink += gap[SwipeGeometry.GAP_BOTTOM] - gap[SwipeGeometry.GAP_TOP];
+                }
+                sink += SwipeGeometry.findGridGaps(gridChildren, gridGaps);
+            }
+
+            histogram.record(System.nanoTime() - start);
+        }
+        return sink;
+    }
+
+    /**
+     * Allocated bytes and elapsed time of the current thread over a run of frames.
+     */
+    private static final class Measure {
+        private final com.sun.management.ThreadMXBean threads;
+        private final long threadId = Thread.currentThread().getId();
+        private final long startBytes;
+        private final long startNanos;
+        private long allocatedBytes;
+        private long elapsedNanos;
+
+        private Measure(final com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+            startBytes = threads.getThreadAllocatedBytes(threadId);
+            startNanos = System.nanoTime();
+        }
+
+        static Measure start() {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            Assume.assumeTrue("Allocation counters are not available on this JVM",
+                    threads instanceof com.sun.management.ThreadMXBean
+                            && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported());
+            ((com.sun.management.ThreadMXBean) threads).setThreadAllocatedMemoryEnabled(true);
+            return new Measure((com.sun.management.ThreadMXBean) threads);
+        }
+
+        void stop() {
+            elapsedNanos = System.nanoTime() - startNanos;
+            allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        }
+
+        void assertWithinBudget(final String scenario) {
+            assertTrue(scenario + " allocated " + allocatedBytes + " bytes over " + FRAMES + " frames",
+                    allocatedBytes <= ALLOCATION_BUDGET_BYTES);
+            final long nanosPerFrame = elapsedNanos / FRAMES;
+            assertTrue(scenario + " took " + nanosPerFrame + "ns per frame",
+                    nanosPerFrame <= FRAME_BUDGET_NANOS);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DisabledRowsTest {
+
+    private static final DisabledRows.ItemIds TIMES_TEN = new DisabledRows.ItemIds() {
+        @Override
+        public long getItemId(final int position) {
+            return position * 10L;
+        }
+    };
+
+    @Test
+    public void disabledPositions_followInsertsAndRemoves() throws Exception {
+        DisabledRows rows = new DisabledRows(new int[]{2, 5}, null, false, null, null);
+        rows.onItemRangeInserted(0, 1);
+        rows.onItemRangeRemoved(4, 1);
+
+        assertTrue(rows.isSwipeDisabled(-1, 3, 0, 10));
+        assertFalse(rows.isSwipeDisabled(-1, 4, 0, 10));
+        assertTrue(rows.isSwipeDisabled(-1, 5, 0, 10));
+        assertFalse(rows.isSwipeDisabled(-1, 6, 0, 10));
+    }
+
+    @Test
+    public void resolvePositions_keepsRowsDisabledByIdOnly() throws Exception {
+        DisabledRows rows = new DisabledRows(new int[]{1, 20}, null, false, null, null);
+        rows.resolvePositions(10, TIMES_TEN);
+
+        // Row 1 is now its id, row 20 waits for the data.
+        assertTrue(rows.isSwipeDisabled(10, 7, 0, 10));
+        assertFalse(rows.isSwipeDisabled(70, 1, 0, 10));
+        assertTrue(rows.isSwipeDisabled(-1, 20, 0, 30));
+    }
+
+    @Test
+    public void lastPosition_needsAnAdapter() throws Exception {
+        DisabledRows rows = new DisabledRows(null, null, true, null, null);
+        assertTrue(rows.isSwipeDisabled(-1, 9, 0, 10));
+        assertFalse(rows.isSwipeDisabled(-1, 8, 0, 10));
+        assertFalse(rows.isSwipeDisabled(-1, 9, 0, -1));
+    }
+}
@@ -0,0 +1,62 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class LongHashSetTest {
+
+    @Test
+    public void add_contains_remove() throws Exception {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(43L));
+        assertTrue(set.remove(42L));
+        assertFalse(set.contains(42L));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    public void zero_and_negative_keys() throws Exception {
+        LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(-1L));
+        assertEquals(2, set.size());
+        assertTrue(set.remove(0L));
+        assertFalse(set.contains(0L));
+    }
+
+    @Test
+    public void toArray_returnsEveryValue() throws Exception {
+        LongHashSet set = new LongHashSet();
+        set.add(0L);
+        set.add(7L);
+        set.add(-3L);
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[]{-3L, 0L, 7L}, values);
+    }
+
+    @Test
+    public void grows_and_survives_removals() throws Exception {
+        LongHashSet set = new LongHashSet();
+        for (long i = 1; i <= 10000; i++) {
+            set.add(i * 31);
+        }
+        for (long i = 1; i <= 10000; i += 2) {
+            assertTrue(set.remove(i * 31));
+        }
+        assertEquals(5000, set.size());
+        for (long i = 1; i <= 10000; i++) {
+            assertEquals(i % 2 == 0, set.contains(i * 31));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PageOffsetIndexTest {
+
+    @Test
+    public void remove_shiftsTheFollowingPagesOnly() throws Exception {
+        PageOffsetIndex index = new PageOffsetIndex(10, 35);
+        assertEquals(4, index.getPageCount());
+        assertEquals(5, index.getPageItemCount(3));
+
+        assertEquals(1, index.remove(12));
+        assertEquals(1, index.remove(10));
+
+        assertEquals(10, index.getPageStart(1));
+        assertEquals(18, index.getPageStart(2));
+        assertEquals(33, index.getTotalCount());
+        assertEquals(1, index.pageOf(17));
+        assertEquals(2, index.pageOf(18));
+        assertEquals(0, index.indexInPage(18));
+    }
+
+    @Test
+    public void pageOf_skipsEmptiedPages() throws Exception {
+        PageOffsetIndex index = new PageOffsetIndex(2, 6);
+        index.remove(2);
+        index.remove(2);
+
+        assertEquals(0, index.getPageItemCount(1));
+        assertEquals(2, index.pageOf(2));
+        assertEquals(2, index.getPageStart(2));
+    }
+
+    @Test
+    public void insert_atTheEnd_growsTheLastPage() throws Exception {
+        PageOffsetIndex index = new PageOffsetIndex(10, 20);
+        assertEquals(1, index.insert(20));
+        assertEquals(0, index.insert(3));
+        assertEquals(11, index.getPageStart(1));
+        assertEquals(22, index.getTotalCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PositionIntervalsTest {
+
+    @Test
+    public void fromPositions_upToMaxValue_doesNotWrapAround() throws Exception {
+        PositionIntervals intervals = PositionIntervals.fromPositions(
+                new int[]{2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE});
+        assertEquals(2, intervals.size());
+        assertTrue(intervals.contains(2));
+        assertFalse(intervals.contains(3));
+        assertTrue(intervals.contains(Integer.MAX_VALUE - 1));
+        assertEquals(Integer.MAX_VALUE, intervals.endAt(1));
+    }
+
+    @Test
+    public void fromPositions_mergesConsecutiveRuns() throws Exception {
+        PositionIntervals intervals = PositionIntervals.fromPositions(new int[]{7, 3, 0, 1, 2, 8});
+        assertEquals(2, intervals.size());
+        assertTrue(intervals.contains(0));
+        assertTrue(intervals.contains(3));
+        assertFalse(intervals.contains(4));
+        assertTrue(intervals.contains(8));
+        assertFalse(intervals.contains(9));
+    }
+
+    @Test
+    public void add_and_remove_splitAndMerge() throws Exception {
+        PositionIntervals intervals = new PositionIntervals();
+        intervals.add(10, 20);
+        intervals.add(30, 40);
+        intervals.add(20, 30);
+        assertEquals(1, intervals.size());
+
+        intervals.remove(15, 25);
+        assertEquals(2, intervals.size());
+        assertTrue(intervals.contains(14));
+        assertFalse(intervals.contains(15));
+        assertFalse(intervals.contains(24));
+        assertTrue(intervals.contains(25));
+    }
+
+    @Test
+    public void followsInsertsRemovesAndMoves() throws Exception {
+        PositionIntervals intervals = PositionIntervals.fromPositions(new int[]{0, 5, 6});
+
+        intervals.onItemRangeInserted(0, 2);
+        assertFalse(intervals.contains(0));
+        assertTrue(intervals.contains(2));
+        assertTrue(intervals.contains(7));
+        assertTrue(intervals.contains(8));
+
+        intervals.onItemRangeRemoved(3, 4);
+        assertTrue(intervals.contains(2));
+        assertTrue(intervals.contains(3));
+        assertTrue(intervals.contains(4));
+        assertFalse(intervals.contains(5));
+
+        intervals.onItemMoved(2, 10);
+        assertFalse(intervals.contains(4));
+        assertTrue(intervals.contains(10));
+        assertFalse(intervals.contains(9));
+    }
+}
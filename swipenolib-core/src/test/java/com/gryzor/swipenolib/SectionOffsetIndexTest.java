@@ -0,0 +1,73 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SectionOffsetIndexTest {
+
+    @Test
+    public void setItemCount_shiftsTheFollowingSectionsOnly() throws Exception {
+        SectionOffsetIndex index = new SectionOffsetIndex();
+        assertEquals(0, index.add(3));
+        assertEquals(1, index.add(10));
+        assertEquals(2, index.add(5));
+
+        index.setItemCount(1, 7);
+
+        assertEquals(0, index.getStart(0));
+        assertEquals(3, index.getStart(1));
+        assertEquals(10, index.getStart(2));
+        assertEquals(15, index.getTotalCount());
+        assertEquals(1, index.sectionOf(9));
+        assertEquals(2, index.sectionOf(10));
+    }
+
+    @Test
+    public void sectionOf_skipsEmptySections() throws Exception {
+        SectionOffsetIndex index = new SectionOffsetIndex();
+        index.add(2);
+        index.add(0);
+        index.add(0);
+        index.add(4);
+
+        assertEquals(0, index.sectionOf(1));
+        assertEquals(3, index.sectionOf(2));
+        assertEquals(2, index.getStart(3));
+    }
+
+    @Test
+    public void matchesPlainSums_whileGrowingAndResizing() throws Exception {
+        final Random random = new Random(42);
+        final SectionOffsetIndex index = new SectionOffsetIndex();
+        final int[] counts = new int[100];
+        for (int section = 0; section < counts.length; section++) {
+            counts[section] = random.nextInt(5);
+            index.add(counts[section]);
+            if (section > 0 && random.nextBoolean()) {
+                final int resized = random.nextInt(section);
+                counts[resized] = random.nextInt(5);
+                index.setItemCount(resized, counts[resized]);
+            }
+        }
+
+        int start = 0;
+        for (int section = 0; section < counts.length; section++) {
+            assertEquals(start, index.getStart(section));
+            for (int position = start; position < start + counts[section]; position++) {
+                assertEquals(section, index.sectionOf(position));
+            }
+            start += counts[section];
+        }
+        assertEquals(start, index.getTotalCount());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void sectionOf_pastTheEnd_throws() throws Exception {
+        SectionOffsetIndex index = new SectionOffsetIndex();
+        index.add(2);
+        index.sectionOf(2);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SoftDeletePositionMapTest {
+
+    @Test
+    public void hide_mapsVisibleToBackingPositions() throws Exception {
+        SoftDeletePositionMap map = new SoftDeletePositionMap(10);
+        assertEquals(3, map.hide(3));
+        assertEquals(4, map.hide(3));
+        assertEquals(0, map.hide(0));
+
+        assertEquals(7, map.getVisibleCount());
+        assertEquals(1, map.toBackingPosition(0));
+        assertEquals(5, map.toBackingPosition(2));
+        assertEquals(9, map.toBackingPosition(6));
+        assertEquals(-1, map.toVisiblePosition(4));
+        assertEquals(2, map.toVisiblePosition(5));
+    }
+
+    @Test
+    public void unhide_restoresTheRowAtItsPosition() throws Exception {
+        SoftDeletePositionMap map = new SoftDeletePositionMap(5);
+        int backing = map.hide(2);
+        map.hide(0);
+        assertEquals(1, map.unhide(backing));
+        assertEquals(-1, map.unhide(backing));
+        assertEquals(4, map.getVisibleCount());
+    }
+
+    @Test
+    public void commit_removesHiddenItemsInOnePass() throws Exception {
+        List<String> items = new ArrayList<>(Arrays.asList("a", "b", "c", "d", "e"));
+        SoftDeletePositionMap map = new SoftDeletePositionMap(items.size());
+        map.hide(1);
+        map.hide(2);
+
+        map.commit(items);
+        assertEquals(Arrays.asList("a", "c", "e"), items);
+        assertEquals(3, map.getBackingSize());
+        assertEquals(0, map.getHiddenCount());
+    }
+
+    @Test
+    public void commit_listenerGetsDescendingPositions() throws Exception {
+        SoftDeletePositionMap map = new SoftDeletePositionMap(1000);
+        for (int i = 0; i < 100; i++) {
+            map.hide(i * 5);
+        }
+        final int[][] received = new int[1][];
+        map.commit(new SoftDeletePositionMap.OnCommitListener() {
+            @Override
+            public void onCommit(final int[] backingPositions) {
+                received[0] = backingPositions;
+            }
+        });
+        assertEquals(100, received[0].length);
+        for (int i = 1; i < received[0].length; i++) {
+            assertTrue(received[0][i - 1] > received[0][i]);
+        }
+        assertEquals(900, map.getBackingSize());
+    }
+}
@@ -0,0 +1,201 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SwipeGeometryTest {
+
+    /**
+     * Rows of 100px, stacked from the top, with the given translations.
+     */
+    private static SwipeGeometry.Children rows(final float... translations) {
+        return new SwipeGeometry.Children() {
+            @Override
+            public int getCount() {
+                return translations.length;
+            }
+
+            @Override
+            public int getTop(final int index) {
+                return index * 100;
+            }
+
+            @Override
+            public int getBottom(final int index) {
+                return index * 100 + 100;
+            }
+
+            @Override
+            public float getTranslationY(final int index) {
+                return translations[index];
+            }
+        };
+    }
+
+    @Test
+    public void findGap_rowsComingUp() throws Exception {
+        int[] gap = new int[2];
+        assertTrue(SwipeGeometry.findGap(rows(0, 0, 40, 40), gap));
+        assertEquals(200, gap[SwipeGeometry.GAP_TOP]);
+        assertEquals(240, gap[SwipeGeometry.GAP_BOTTOM]);
+    }
+
+    @Test
+    public void findGap_rowsComingDown() throws Exception {
+        int[] gap = new int[2];
+        assertTrue(SwipeGeometry.findGap(rows(-30, -30, 0), gap));
+        assertEquals(170, gap[SwipeGeometry.GAP_TOP]);
+        assertEquals(200, gap[SwipeGeometry.GAP_BOTTOM]);
+    }
+
+    @Test
+    public void findGap_rowsComingFromBothSides() throws Exception {
+        int[] gap = new int[2];
+        assertTrue(SwipeGeometry.findGap(rows(-20, 0, 30), gap));
+        assertEquals(80, gap[SwipeGeometry.GAP_TOP]);
+        assertEquals(230, gap[SwipeGeometry.GAP_BOTTOM]);
+    }
+
+    @Test
+    public void findGap_nothingMoving() throws Exception {
+        assertFalse(SwipeGeometry.findGap(rows(0, 0, 0), new int[2]));
+    }
+
+    @Test
+    public void labelIsCenteredAtTheEnd() throws Exception {
+        assertEquals(1080 - 48 - 24, SwipeGeometry.labelLeft(1080, 48, 24));
+        assertEquals(100 + 38, SwipeGeometry.centeredTop(100, 200, 24));
+        assertEquals(980, SwipeGeometry.revealedLeft(1080, -100.5f));
+    }
+
+    /**
+     * Two columns of 100px cells, the left one with the given translations, the right one with none.
+     */
+    private static SwipeGeometry.GridChildren grid(final float... leftColumnTranslations) {
+        return new SwipeGeometry.GridChildren() {
+            @Override
+            public int getCount() {
+                return leftColumnTranslations.length * 2;
+            }
+
+            @Override
+            public int getLeft(final int index) {
+                return (index % 2) * 100;
+            }
+
+            @Override
+            public int getRight(final int index) {
+                return (index % 2) * 100 + 100;
+            }
+
+            @Override
+            public int getTop(final int index) {
+                return (index / 2) * 100;
+            }
+
+            @Override
+            public int getBottom(final int index) {
+                return (index / 2) * 100 + 100;
+            }
+
+            @Override
+            public float getTranslationX(final int index) {
+                return 0;
+            }
+
+            @Override
+            public float getTranslationY(final int index) {
+                return index % 2 == 0 ? leftColumnTranslations[index / 2] : 0;
+            }
+        };
+    }
+
+    @Test
+    public void findGridGaps_onlyInTheMovingColumn() throws Exception {
+        GridGaps gaps = new GridGaps();
+        assertEquals(1, SwipeGeometry.findGridGaps(grid(0, 60, 60), gaps));
+        assertEquals(0, gaps.getLeft(0));
+        assertEquals(100, gaps.getRight(0));
+        assertEquals(100, gaps.getTop(0));
+        assertEquals(160, gaps.getBottom(0));
+    }
+
+    @Test
+    public void findGridGaps_reusesBuffers() throws Exception {
+        GridGaps gaps = new GridGaps();
+        assertEquals(1, SwipeGeometry.findGridGaps(grid(-20, 0, 0), gaps));
+        assertEquals(80, gaps.getTop(0));
+        assertEquals(0, SwipeGeometry.findGridGaps(grid(0, 0, 0), gaps));
+    }
+
+    /**
+     * Cells of 100x100 laid out in the given slots of a 3 columns grid, each translated by
+     * {@code translations[2 * cell]} and {@code translations[2 * cell + 1]}.
+     */
+    private static SwipeGeometry.GridChildren cells(final int[] slots, final float... translations) {
+        return new SwipeGeometry.GridChildren() {
+            @Override
+            public int getCount() {
+                return slots.length;
+            }
+
+            @Override
+            public int getLeft(final int index) {
+                return (slots[index] % 3) * 100;
+            }
+
+            @Override
+            public int getRight(final int index) {
+                return (slots[index] % 3) * 100 + 100;
+            }
+
+            @Override
+            public int getTop(final int index) {
+                return (slots[index] / 3) * 100;
+            }
+
+            @Override
+            public int getBottom(final int index) {
+                return (slots[index] / 3) * 100 + 100;
+            }
+
+            @Override
+            public float getTranslationX(final int index) {
+                return translations[2 * index];
+            }
+
+            @Override
+            public float getTranslationY(final int index) {
+                return translations[2 * index + 1];
+            }
+        };
+    }
+
+    @Test
+    public void findGridGaps_followsSidewaysAndWrappingCells() throws Exception {
+        // The cell in slot 1 was removed, halfway through the moves: the next cells slide left, the one from the
+        // second row goes up and right to the end of the first row.
+        SwipeGeometry.GridChildren grid = cells(
+                new int[]{0, 1, 2, 3, 4},
+                0, 0,
+                50, 0,
+                -100, 50,
+                50, 0,
+                50, 0);
+
+        GridGaps gaps = new GridGaps();
+        assertEquals(3, SwipeGeometry.findGridGaps(grid, gaps));
+        assertGap(gaps, 0, 100, 0, 150, 50);
+        assertGap(gaps, 1, 250, 0, 300, 100);
+        assertGap(gaps, 2, 0, 100, 50, 200);
+    }
+
+    private static void assertGap(
+            final GridGaps gaps, final int index, final int left, final int top, final int right, final int bottom) {
+        assertEquals(left, gaps.getLeft(index));
+        assertEquals(top, gaps.getTop(index));
+        assertEquals(right, gaps.getRight(index));
+        assertEquals(bottom, gaps.getBottom(index));
+    }
+}
@@ -0,0 +1,113 @@
+package com.gryzor.swipenolib;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SwipeJournalTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("swipe", ".journal");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    @Test
+    public void flush_appliesPendingDeletionsInOneBatch() throws Exception {
+        RecordingApplier applier = new RecordingApplier();
+        SwipeJournal journal = new SwipeJournal(file, applier, 10000, 100);
+        journal.append(1L);
+        journal.append(2L);
+        journal.append(3L);
+        journal.flush();
+        journal.close();
+
+        assertEquals(1, applier.batches);
+        assertEquals(Arrays.asList(1L, 2L, 3L), applier.ids);
+        assertEquals(0, file.length());
+    }
+
+    @Test
+    public void failedDeletions_areReplayedWhenReopened() throws Exception {
+        RecordingApplier failing = new RecordingApplier();
+        failing.fail = true;
+        SwipeJournal journal = new SwipeJournal(file, failing, 0, 100);
+        journal.append(7L);
+        journal.append(8L);
+        journal.flush();
+        journal.close();
+        assertTrue(file.length() > 0);
+
+        RecordingApplier applier = new RecordingApplier();
+        journal = new SwipeJournal(file, applier, 0, 100);
+        journal.append(9L);
+        journal.flush();
+        journal.close();
+
+        assertEquals(Arrays.asList(7L, 8L, 9L), applier.ids);
+        assertEquals(0, file.length());
+    }
+
+    @Test
+    public void tornRecord_isCutOff_andLaterDeletionsAreKept() throws Exception {
+        RecordingApplier failing = new RecordingApplier();
+        failing.fail = true;
+        SwipeJournal journal = new SwipeJournal(file, failing, 0, 100);
+        journal.append(7L);
+        journal.append(8L);
+        journal.flush();
+        journal.close();
+
+        // The process died halfway through the next record.
+        final long length = file.length();
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(length + 10);
+        raf.close();
+
+        // The database is still unavailable when the journal is opened again.
+        RecordingApplier applier = new RecordingApplier();
+        applier.fail = true;
+        journal = new SwipeJournal(file, applier, 0, 100);
+        journal.append(9L);
+        journal.flush();
+
+        applier.fail = false;
+        journal.append(10L);
+        journal.flush();
+        journal.close();
+
+        assertEquals(Arrays.asList(7L, 8L, 9L, 10L), applier.ids);
+        assertEquals(0, file.length());
+    }
+
+    private static final class RecordingApplier implements SwipeJournal.Applier {
+        final List<Long> ids = new ArrayList<>();
+        int batches;
+        volatile boolean fail;
+
+        @Override
+        public void apply(final long[] itemIds, final long[] timestamps) throws Exception {
+            if (fail) {
+                throw new Exception("Database unavailable");
+            }
+            batches++;
+            for (long id : itemIds) {
+                ids.add(id);
+            }
+        }
+    }
+}
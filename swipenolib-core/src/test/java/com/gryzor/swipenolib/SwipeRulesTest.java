@@ -0,0 +1,34 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SwipeRulesTest {
+
+    @Test
+    public void disableRange_toMaxValue_disablesEverythingAfter() throws Exception {
+        SwipeRules rules = new SwipeRules().disableRange(5, Integer.MAX_VALUE);
+        assertFalse(rules.isSwipeDisabled(4, 0));
+        assertTrue(rules.isSwipeDisabled(5, 0));
+        assertTrue(rules.isSwipeDisabled(Integer.MAX_VALUE - 1, 0));
+    }
+
+    @Test
+    public void openRange_staysOpen_afterInsertsAndRemoves() throws Exception {
+        SwipeRules rules = new SwipeRules().disableRange(5, Integer.MAX_VALUE);
+        rules.onItemRangeInserted(0, 3);
+        rules.onItemRangeRemoved(0, 1);
+
+        assertFalse(rules.isSwipeDisabled(6, 0));
+        assertTrue(rules.isSwipeDisabled(7, 0));
+        assertTrue(rules.isSwipeDisabled(Integer.MAX_VALUE - 1, 0));
+    }
+
+    @Test
+    public void enableRange_toMaxValue_enablesEverythingAfter() throws Exception {
+        SwipeRules rules = new SwipeRules().disableRange(0, 20).enableRange(10, Integer.MAX_VALUE);
+        assertTrue(rules.isSwipeDisabled(9, 0));
+        assertFalse(rules.isSwipeDisabled(10, 0));
+    }
+}
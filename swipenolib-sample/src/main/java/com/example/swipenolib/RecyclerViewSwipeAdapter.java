@@ -1,20 +1,18 @@
 package com.example.swipenolib;
 
 import android.content.Context;
-import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.gryzor.swipenolib.SwipeListAdapter;
 
-class RecyclerViewSwipeAdapter extends RecyclerView.Adapter<RecyclerViewSwipeViewHolder> {
+import java.util.List;
 
-    private List<String> items = new ArrayList<>();
+class RecyclerViewSwipeAdapter extends SwipeListAdapter<String, RecyclerViewSwipeViewHolder> {
 
     RecyclerViewSwipeAdapter(final List<String> items) {
-        this.items = items;
+        super(items);
     }
 
     @Override
@@ -28,24 +26,6 @@ class RecyclerViewSwipeAdapter extends RecyclerView.Adapter<RecyclerViewSwipeVie
 
     @Override
     public void onBindViewHolder(final RecyclerViewSwipeViewHolder holder, final int position) {
-        holder.bind(items.get(position));
-    }
-
-    @Override
-    public int getItemCount() {
-        return items.size();
-    }
-
-    /**
-     * Removes an item from the adapter, if it exists.
-     * @param position the desired position of the item to remove.
-     */
-    void remove(int position) {
-        final String item = items.get(position);
-
-        if (items.contains(item)) {
-            items.remove(position);
-            notifyItemRemoved(position);
-        }
+        holder.bind(getItem(position));
     }
 }
@@ -10,6 +10,7 @@ import android.widget.Toast;
 
 import com.gryzor.swipenolib.RecyclerViewSwipeHelperDecorator;
 import com.gryzor.swipenolib.RecyclerViewItemSwipeHelper;
+import com.gryzor.swipenolib.SwipeItemAnimator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,6 +18,8 @@ import java.util.List;
 
 public class SwipeActivity extends AppCompatActivity {
 
+    private RecyclerViewSwipeAdapter adapter;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -31,17 +34,16 @@ public class SwipeActivity extends AppCompatActivity {
                 )
         );
 
-        final RecyclerViewSwipeAdapter adapter = new RecyclerViewSwipeAdapter(strings);
+        adapter = new RecyclerViewSwipeAdapter(strings) {
+            @Override
+            protected void onSwipedItemRemoved(final int position, final String item) {
+                Toast.makeText(SwipeActivity.this, "Removing position: " + position, Toast.LENGTH_SHORT).show();
+            }
+        };
         // Add Swipe To Delete Support.
         new RecyclerViewItemSwipeHelper.Builder()
                 .setBackgroundColor(new ColorDrawable(Color.RED))
-                .setSwipeListener(new RecyclerViewItemSwipeHelper.OnSwipeListener() {
-                    @Override
-                    public void onItemSwiped(final int position) {
-                        adapter.remove(position);
-                        Toast.makeText(SwipeActivity.this, "Removing position: " + position, Toast.LENGTH_SHORT).show();
-                    }
-                })
+                .setSwipeListener(adapter)
                 .swipeToStart()
                 .setDeleteDecorationColor(Color.WHITE)
                 .setDeleteImage(getResources().getDrawable(R.drawable.vg_clear_black_24dp))
@@ -49,13 +51,15 @@ public class SwipeActivity extends AppCompatActivity {
 //                .setDeleteTextSize(42)
                 .disableSwipeOnPositions(0, 3)
                 .disableSwipeOnLastItem()
-                .buildAndAttach(this, recyclerView);
+                .bindToLifecycle(this, recyclerView);
 
         // Needed to display the "background color" during the animation after a delete.
         new RecyclerViewSwipeHelperDecorator.Builder()
                 .setBackgroundColor(new ColorDrawable(Color.RED))
                 .buildAndAdd(recyclerView);
 
+        // Lets the decorator track the moving rows instead of scanning all of them on every frame.
+        recyclerView.setItemAnimator(new SwipeItemAnimator());
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setAdapter(adapter);
     }
@@ -0,0 +1,99 @@
+package com.gryzor.swipenolib;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Removes swiped rows optimistically and runs the {@link OnAsyncSwipeListener} on an {@link Executor}.
+ * Failed operations put the row back at its position. The main thread never waits for the listener.
+ */
+final class AsyncSwipeDispatcher {
+
+    private static final String TAG = AsyncSwipeDispatcher.class.getSimpleName();
+
+    private final Executor executor;
+    private final SoftDeletePositionMap positionMap;
+    private final OnAsyncSwipeListener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private RecyclerView.Adapter adapter;
+    private int runningOperations;
+
+    AsyncSwipeDispatcher(
+            final Executor executor,
+            final SoftDeletePositionMap positionMap,
+            final OnAsyncSwipeListener listener) {
+        this.executor = executor;
+        this.positionMap = positionMap;
+        this.listener = listener;
+    }
+
+    void bind(final RecyclerView.Adapter adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * Called on the main thread when a row has been swiped.
+     */
+    void onSwiped(final RecyclerView.ViewHolder viewHolder) {
+        final int position = viewHolder.getAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        final SwipeOperation operation = new SwipeOperation(
+                positionMap.hide(position), viewHolder.getItemId(), this);
+        runningOperations++;
+        if (adapter != null) {
+            adapter.notifyItemRemoved(position);
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        listener.onItemSwiped(operation);
+                    } catch (Exception e) {
+                        operation.fail(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // A shut down executor, the row comes back like any other failed operation.
+            operation.fail(e);
+        }
+    }
+
+    /**
+     * Called by the operation, from any thread.
+     */
+    void onCompleted(final SwipeOperation operation) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                finish(operation);
+            }
+        });
+    }
+
+    private void finish(final SwipeOperation operation) {
+        runningOperations--;
+
+        if (!operation.isSuccessful()) {
+            Log.w(TAG, "Swipe failed, restoring the row.", operation.getError());
+            final int position = positionMap.unhide(operation.getBackingPosition());
+            if (position != -1 && adapter != null) {
+                adapter.notifyItemInserted(position);
+            }
+        }
+
+        if (runningOperations == 0 && positionMap.getHiddenCount() > 0) {
+            listener.onSwipesCompleted(positionMap);
+        }
+    }
+}
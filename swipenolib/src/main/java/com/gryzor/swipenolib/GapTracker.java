@@ -0,0 +1,144 @@
+package com.gryzor.swipenolib;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the area left uncovered while the RecyclerView animates rows into the place of a removed one.
+ * With a {@link SwipeItemAnimator}, only the views being moved by the animator are looked at, and nothing is done
+ * while no remove or move animation runs. Other animators are polled and every child is scanned.
+ * With a {@link GridLayoutManager} or a {@link StaggeredGridLayoutManager}, cells also move sideways and diagonally:
+ * the gaps are the parts of their slots left uncovered.
+ */
+final class GapTracker {
+
+    private RecyclerView.ItemAnimator observedAnimator;
+    private SwipeItemAnimator trackedAnimator;
+    private final List<View> movingViews = new ArrayList<>();
+    private int runningRemovals;
+    private final ViewChildren children = new ViewChildren();
+    private final int[] gap = new int[2];
+    private final GridGaps gridGaps = new GridGaps();
+    private boolean grid;
+    private int parentWidth;
+
+    private final SwipeItemAnimator.AnimationListener animationListener = new SwipeItemAnimator.AnimationListener() {
+        @Override
+        public void onRemoveStarting(final RecyclerView.ViewHolder item) {
+            runningRemovals++;
+        }
+
+        @Override
+        public void onRemoveFinished(final RecyclerView.ViewHolder item) {
+            if (runningRemovals > 0) {
+                runningRemovals--;
+            }
+        }
+
+        @Override
+        public void onMoveScheduled(final RecyclerView.ViewHolder item) {
+            // Tracked right away: the row sits at its old position, translated, while the removals run.
+            track(item.itemView);
+        }
+
+        @Override
+        public void onMoveStarting(final RecyclerView.ViewHolder item) {
+            track(item.itemView);
+        }
+
+        @Override
+        public void onMoveFinished(final RecyclerView.ViewHolder item) {
+            movingViews.remove(item.itemView);
+        }
+    };
+
+    /**
+     * @return the number of gaps to draw, read them with {@link #getLeft(int)}, {@link #getTop(int)},
+     * {@link #getRight(int)} and {@link #getBottom(int)}.
+     */
+    int findGaps(final RecyclerView parent) {
+        final RecyclerView.ItemAnimator itemAnimator = parent.getItemAnimator();
+        if (itemAnimator != observedAnimator) {
+            trackAnimator(itemAnimator);
+        }
+
+        if (trackedAnimator != null) {
+            // A cooperating animator tells us which views move, nothing to do until a row is removed or moved.
+            if (runningRemovals == 0 && movingViews.isEmpty()) {
+                return 0;
+            }
+            pruneMovingViews(parent);
+            children.setViews(movingViews);
+        } else if (itemAnimator != null && itemAnimator.isRunning()) {
+            // If an animation is in progress we need to draw the background, scan every child to find
+            // the views translating to fill the void.
+            children.setLayoutManager(parent.getLayoutManager());
+        } else {
+            return 0;
+        }
+
+        final RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
+        grid = layoutManager instanceof GridLayoutManager || layoutManager instanceof StaggeredGridLayoutManager;
+        if (grid) {
+            return SwipeGeometry.findGridGaps(children, gridGaps);
+        }
+
+        // When an item is removed, other items may need to move up and others down (at the same time).
+        // For example, when you remove something in the middle of the list.
+        parentWidth = parent.getWidth();
+        return SwipeGeometry.findGap(children, gap) ? 1 : 0;
+    }
+
+    int getLeft(final int index) {
+        return grid ? gridGaps.getLeft(index) : 0;
+    }
+
+    int getRight(final int index) {
+        return grid ? gridGaps.getRight(index) : parentWidth;
+    }
+
+    int getTop(final int index) {
+        return grid ? gridGaps.getTop(index) : gap[SwipeGeometry.GAP_TOP];
+    }
+
+    int getBottom(final int index) {
+        return grid ? gridGaps.getBottom(index) : gap[SwipeGeometry.GAP_BOTTOM];
+    }
+
+    private void track(final View view) {
+        if (!movingViews.contains(view)) {
+            movingViews.add(view);
+        }
+    }
+
+    /**
+     * Drop the views the animator reported that are no longer attached to the RecyclerView.
+     */
+    private void pruneMovingViews(final RecyclerView parent) {
+        for (int i = movingViews.size() - 1; i >= 0; i--) {
+            if (movingViews.get(i).getParent() != parent) {
+                movingViews.remove(i);
+            }
+        }
+    }
+
+    private void trackAnimator(final RecyclerView.ItemAnimator itemAnimator) {
+        if (trackedAnimator != null) {
+            trackedAnimator.removeAnimationListener(animationListener);
+            trackedAnimator = null;
+        }
+        observedAnimator = itemAnimator;
+        movingViews.clear();
+        runningRemovals = 0;
+
+        if (itemAnimator instanceof SwipeItemAnimator) {
+            trackedAnimator = (SwipeItemAnimator) itemAnimator;
+            trackedAnimator.addAnimationListener(animationListener);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gryzor.swipenolib;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.WorkerThread;
+
+/**
+ * Receives swipes off the main thread. The swiped row is hidden right away, through a
+ * {@link SoftDeletePositionMap}, and shown again if the {@link SwipeOperation} fails.
+ * Use {@link RecyclerViewItemSwipeHelper.Builder#setAsyncSwipeListener(java.util.concurrent.Executor,
+ * SoftDeletePositionMap, OnAsyncSwipeListener)} to install it.
+ */
+public interface OnAsyncSwipeListener {
+
+    /**
+     * Called on the executor. Validate or persist the deletion, then complete the operation, now or later.
+     * Throwing an exception fails the operation.
+     */
+    @WorkerThread
+    void onItemSwiped(SwipeOperation operation) throws Exception;
+
+    /**
+     * Called on the main thread when no operation is running anymore and some rows were deleted.
+     * This is the time to remove the hidden rows from your data, with {@link SoftDeletePositionMap#commit(java.util.List)}.
+     */
+    @MainThread
+    void onSwipesCompleted(SoftDeletePositionMap positionMap);
+}
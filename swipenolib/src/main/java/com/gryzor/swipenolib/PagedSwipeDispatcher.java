@@ -0,0 +1,51 @@
+package com.gryzor.swipenolib;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Streams the swiped rows of a paged list into its {@link PagedSwipeSource}, one at a time, keeps the
+ * {@link PageOffsetIndex} of the loaded pages up to date and notifies the adapter.
+ */
+final class PagedSwipeDispatcher {
+
+    private final PagedSwipeSource source;
+    private final PageOffsetIndex pageIndex;
+    private RecyclerView.Adapter adapter;
+
+    /**
+     * @param pageIndex the index to shrink on each swipe, may be null.
+     */
+    PagedSwipeDispatcher(final PagedSwipeSource source, final PageOffsetIndex pageIndex) {
+        this.source = source;
+        this.pageIndex = pageIndex;
+    }
+
+    void bind(final RecyclerView.Adapter adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * Called on the main thread when a row has been swiped.
+     */
+    void onSwiped(final int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        if (source.isPlaceholder(position)) {
+            // Its page was dropped during the swipe. The row has slid out already, rebinding brings it back.
+            if (adapter != null) {
+                adapter.notifyItemChanged(position);
+            }
+            return;
+        }
+
+        // The source reads the index before the row is taken out of it.
+        source.onItemSwiped(position);
+        if (pageIndex != null && position < pageIndex.getTotalCount()) {
+            pageIndex.remove(position);
+        }
+        if (adapter != null) {
+            adapter.notifyItemRemoved(position);
+        }
+    }
+}
@@ -0,0 +1,682 @@
+package com.gryzor.swipenolib;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.helper.ItemTouchHelper;
+import android.util.Log;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Swipes a whole run of rows with one gesture: swipe a row past the threshold, then, without lifting the finger, drag
+ * up or down to mark the rows in between. Near the top and bottom edges the list scrolls, so the run can be longer
+ * than the screen. Releasing past the threshold slides every marked row out in one animation, hands the run to your
+ * {@link OnRangeSwipeListener} in one call and notifies the adapter with a single {@code notifyItemRangeRemoved}.
+ * A swipe released without a vertical drag removes just that row, the same way.
+ * The run stops at the first row disabled by the {@link SwipeRules}, which follow the adapter notifications.
+ * So does the run while the gesture and its animation last, and a change to the rows of the run cancels the gesture.
+ * Meant for vertical lists. It handles the touch events itself, use it instead of a {@link RecyclerViewItemSwipeHelper}
+ * on the same RecyclerView, not along with it.
+ */
+public class RecyclerViewBulkSwipeHelper extends RecyclerView.ItemDecoration
+        implements RecyclerView.OnItemTouchListener, RecyclerView.OnChildAttachStateChangeListener {
+
+    private static final int STATE_IDLE = 0;
+    // Down on a swipeable row, not moved enough yet.
+    private static final int STATE_PRESSED = 1;
+    // Swiping the anchor row.
+    private static final int STATE_SWIPING = 2;
+    // Past the threshold and dragged vertically, the run follows the finger.
+    private static final int STATE_MARKING = 3;
+    // Released, sliding out or back.
+    private static final int STATE_SETTLING = 4;
+
+    private static final long SETTLE_DURATION_MILLIS = 250;
+    private static final float DEFAULT_SWIPE_THRESHOLD = .5f;
+    // Edge zone height and fastest auto scroll step, in dp.
+    private static final int AUTO_SCROLL_EDGE_DP = 48;
+    private static final int AUTO_SCROLL_MAX_STEP_DP = 16;
+
+    private final int swipeDirs;
+    private final float swipeThreshold;
+    private final SwipeRules swipeRules;
+    private final OnRangeSwipeListener listener;
+    private Drawable background;
+
+    private RecyclerView recyclerView;
+    private int touchSlop;
+    private int autoScrollEdge;
+    private int autoScrollMaxStep;
+
+    private int state = STATE_IDLE;
+    private float downX;
+    private float downY;
+    private float lastY;
+    private float deltaX;
+    private int anchorPosition = RecyclerView.NO_POSITION;
+    // The marked run, inclusive.
+    private int runStart = RecyclerView.NO_POSITION;
+    private int runEnd = RecyclerView.NO_POSITION;
+    private boolean autoScrolling;
+    private ValueAnimator settleAnimator;
+    // Every row this helper has moved, reset when detached or when the gesture is cancelled.
+    private final List<View> translatedViews = new ArrayList<>();
+    private final GapTracker gapTracker = new GapTracker();
+    private RecyclerView.Adapter observedAdapter;
+
+    // Keeps the rules and the current gesture on the same rows, this helper's own removals included.
+    private final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            if (state != STATE_IDLE) {
+                // Nothing tells where the rows went.
+                cancel();
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(final int positionStart, final int itemCount) {
+            if (swipeRules != null) {
+                swipeRules.onItemRangeInserted(positionStart, itemCount);
+            }
+            onRowsInserted(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(final int positionStart, final int itemCount) {
+            if (swipeRules != null) {
+                swipeRules.onItemRangeRemoved(positionStart, itemCount);
+            }
+            onRowsRemoved(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(final int fromPosition, final int toPosition, final int itemCount) {
+            // RecyclerView only supports moving one item at a time.
+            if (swipeRules != null) {
+                swipeRules.onItemMoved(fromPosition, toPosition);
+            }
+            if (onRowsRemoved(fromPosition, 1)) {
+                onRowsInserted(toPosition, 1);
+            }
+        }
+    };
+
+    private final Runnable autoScroll = new Runnable() {
+        @Override
+        public void run() {
+            autoScrolling = false;
+            if (state != STATE_MARKING || recyclerView == null) {
+                return;
+            }
+            final int step = autoScrollStep();
+            if (step != 0) {
+                recyclerView.scrollBy(0, step);
+                // New rows went under the finger.
+                updateRun();
+                scheduleAutoScroll();
+            }
+        }
+    };
+
+    private RecyclerViewBulkSwipeHelper(final Builder builder) {
+        swipeDirs = builder.swipeDirs;
+        swipeThreshold = builder.swipeThreshold;
+        swipeRules = builder.swipeRules;
+        listener = builder.listener;
+        if (listener == null) {
+            throw new IllegalStateException("A bulk swipe helper needs a listener to remove the swiped rows.");
+        }
+        background = builder.background;
+        if (background == null) {
+            // Set a Default
+            Log.w("SWIPE", "Warning: you didn't pass a background color, using RED.");
+            background = new ColorDrawable(Color.RED);
+        }
+    }
+
+    /**
+     * Attach the helper to a RecyclerView, or detach it with {@code null}.
+     */
+    public void attachToRecyclerView(@Nullable final RecyclerView recyclerView) {
+        if (this.recyclerView == recyclerView) {
+            return;
+        }
+        if (this.recyclerView != null) {
+            cancel();
+            this.recyclerView.removeItemDecoration(this);
+            this.recyclerView.removeOnItemTouchListener(this);
+            this.recyclerView.removeOnChildAttachStateChangeListener(this);
+            this.recyclerView.removeCallbacks(autoScroll);
+            autoScrolling = false;
+            observe(null);
+        }
+
+        this.recyclerView = recyclerView;
+        if (recyclerView != null) {
+            final Context context = recyclerView.getContext();
+            final float density = context.getResources().getDisplayMetrics().density;
+            touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+            autoScrollEdge = (int) (AUTO_SCROLL_EDGE_DP * density);
+            autoScrollMaxStep = (int) (AUTO_SCROLL_MAX_STEP_DP * density);
+            recyclerView.addItemDecoration(this);
+            recyclerView.addOnItemTouchListener(this);
+            recyclerView.addOnChildAttachStateChangeListener(this);
+            // Set or swapped adapters are picked up on the next touch.
+            observe(recyclerView.getAdapter());
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(final RecyclerView rv, final MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                if (state == STATE_SETTLING) {
+                    return false;
+                }
+                downX = event.getX();
+                downY = event.getY();
+                anchorPosition = positionAt(downY);
+                state = isSwipeable(anchorPosition) ? STATE_PRESSED : STATE_IDLE;
+                return false;
+
+            case MotionEvent.ACTION_MOVE:
+                if (state != STATE_PRESSED) {
+                    return false;
+                }
+                final float dx = event.getX() - downX;
+                final float dy = event.getY() - downY;
+                if (Math.abs(dy) > touchSlop && Math.abs(dy) >= Math.abs(dx)) {
+                    // A scroll, leave it to the RecyclerView.
+                    state = STATE_IDLE;
+                    return false;
+                }
+                if (Math.abs(dx) > touchSlop && clampDeltaX(dx) != 0) {
+                    state = STATE_SWIPING;
+                    runStart = anchorPosition;
+                    runEnd = anchorPosition;
+                    lastY = event.getY();
+                    final ViewParent parent = rv.getParent();
+                    if (parent != null) {
+                        parent.requestDisallowInterceptTouchEvent(true);
+                    }
+                    return true;
+                }
+                return false;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                if (state == STATE_PRESSED) {
+                    state = STATE_IDLE;
+                }
+                return false;
+
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void onTouchEvent(final RecyclerView rv, final MotionEvent event) {
+        if (state < STATE_SWIPING) {
+            // The gesture was cancelled by an adapter change, ignore the rest of it.
+            return;
+        }
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                deltaX = clampDeltaX(event.getX() - downX);
+                lastY = event.getY();
+                if (state == STATE_SWIPING && isPastThreshold() && Math.abs(lastY - downY) > touchSlop) {
+                    state = STATE_MARKING;
+                }
+                if (state == STATE_MARKING) {
+                    updateRun();
+                    scheduleAutoScroll();
+                }
+                rv.invalidate();
+                break;
+
+            case MotionEvent.ACTION_UP:
+                settle(isPastThreshold());
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                settle(false);
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(final boolean disallowIntercept) {
+        if (disallowIntercept && state == STATE_PRESSED) {
+            state = STATE_IDLE;
+        }
+    }
+
+    @Override
+    public void onChildViewAttachedToWindow(final View view) {
+    }
+
+    @Override
+    public void onChildViewDetachedFromWindow(final View view) {
+        // Rows scrolled out, or removed once their animation is over: hand them back untouched.
+        if (translatedViews.remove(view)) {
+            view.setTranslationX(0);
+        }
+    }
+
+    @Override
+    public void onDraw(final Canvas canvas, final RecyclerView parent, final RecyclerView.State state) {
+        if (this.state >= STATE_SWIPING) {
+            translateRun(parent);
+            drawRun(canvas, parent);
+        }
+
+        final int gapCount = gapTracker.findGaps(parent);
+        for (int i = 0; i < gapCount; i++) {
+            background.setBounds(
+                    gapTracker.getLeft(i),
+                    gapTracker.getTop(i),
+                    gapTracker.getRight(i),
+                    gapTracker.getBottom(i));
+            background.draw(canvas);
+        }
+
+        super.onDraw(canvas, parent, state);
+    }
+
+    /**
+     * Move the visible rows of the run to the current swipe offset, and put back the ones that left it.
+     */
+    private void translateRun(final RecyclerView parent) {
+        for (int i = translatedViews.size() - 1; i >= 0; i--) {
+            final View view = translatedViews.get(i);
+            if (!isInRun(parent.getChildAdapterPosition(view))) {
+                view.setTranslationX(0);
+                translatedViews.remove(i);
+            }
+        }
+
+        final int childCount = parent.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = parent.getChildAt(i);
+            if (isInRun(parent.getChildAdapterPosition(child))) {
+                child.setTranslationX(deltaX);
+                if (!translatedViews.contains(child)) {
+                    translatedViews.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw the background behind each row of the run, within the row's own bounds as rows may differ in width.
+     */
+    private void drawRun(final Canvas canvas, final RecyclerView parent) {
+        if (deltaX == 0) {
+            return;
+        }
+
+        for (int i = 0; i < translatedViews.size(); i++) {
+            final View view = translatedViews.get(i);
+            if (view.getParent() != parent) {
+                continue;
+            }
+            final int deltaY = (int) view.getTranslationY();
+            final int left = deltaX < 0 ? SwipeGeometry.revealedLeft(view.getRight(), deltaX) : view.getLeft();
+            final int right = deltaX < 0 ? view.getRight() : view.getLeft() + (int) deltaX;
+            background.setBounds(left, view.getTop() + deltaY, right, view.getBottom() + deltaY);
+            background.draw(canvas);
+        }
+    }
+
+    /**
+     * Mark the rows from the anchor to the one under the finger, up to the first disabled row.
+     */
+    private void updateRun() {
+        final int target = positionAt(lastY);
+        if (target == RecyclerView.NO_POSITION) {
+            // Between rows, keep the current run.
+            return;
+        }
+
+        final RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        int start = anchorPosition;
+        int end = anchorPosition;
+        while (start > target && isSwipeable(adapter, start - 1)) {
+            start--;
+        }
+        while (end < target && isSwipeable(adapter, end + 1)) {
+            end++;
+        }
+        runStart = start;
+        runEnd = end;
+    }
+
+    private void scheduleAutoScroll() {
+        if (!autoScrolling && autoScrollStep() != 0) {
+            autoScrolling = true;
+            ViewCompat.postOnAnimation(recyclerView, autoScroll);
+        }
+    }
+
+    /**
+     * @return how far to scroll this frame, faster the deeper the finger is in the edge zone.
+     */
+    private int autoScrollStep() {
+        final int height = recyclerView.getHeight();
+        final float depth;
+        if (lastY < autoScrollEdge) {
+            depth = -(autoScrollEdge - Math.max(0, lastY));
+        } else if (lastY > height - autoScrollEdge) {
+            depth = Math.min(height, lastY) - (height - autoScrollEdge);
+        } else {
+            return 0;
+        }
+        final int step = (int) (autoScrollMaxStep * depth / autoScrollEdge);
+        return step != 0 ? step : (int) Math.signum(depth);
+    }
+
+    /**
+     * Slide the run out and remove it, or slide it back.
+     */
+    private void settle(final boolean remove) {
+        state = STATE_SETTLING;
+        recyclerView.removeCallbacks(autoScroll);
+        autoScrolling = false;
+
+        final int width = recyclerView.getWidth();
+        final float target = remove ? Math.signum(deltaX) * width : 0;
+        final long duration = width > 0
+                ? (long) (SETTLE_DURATION_MILLIS * Math.abs(target - deltaX) / width)
+                : 0;
+
+        settleAnimator = ValueAnimator.ofFloat(deltaX, target);
+        settleAnimator.setDuration(duration);
+        settleAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(final ValueAnimator animation) {
+                deltaX = (float) animation.getAnimatedValue();
+                recyclerView.invalidate();
+            }
+        });
+        settleAnimator.addListener(new AnimatorListenerAdapter() {
+            private boolean cancelled;
+
+            @Override
+            public void onAnimationCancel(final Animator animation) {
+                cancelled = true;
+            }
+
+            @Override
+            public void onAnimationEnd(final Animator animation) {
+                settleAnimator = null;
+                if (remove && !cancelled) {
+                    dispatchRun();
+                } else {
+                    resetTranslations();
+                }
+                reset();
+            }
+        });
+        settleAnimator.start();
+    }
+
+    private void dispatchRun() {
+        final RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        if (adapter == null || runStart == RecyclerView.NO_POSITION) {
+            resetTranslations();
+            return;
+        }
+
+        final int start = runStart;
+        final int itemCount = Math.min(runEnd, adapter.getItemCount() - 1) - start + 1;
+        if (itemCount <= 0) {
+            resetTranslations();
+            return;
+        }
+
+        // The observer has nothing left to follow, the run is gone.
+        anchorPosition = RecyclerView.NO_POSITION;
+        runStart = RecyclerView.NO_POSITION;
+        runEnd = RecyclerView.NO_POSITION;
+        // The rows stay out of sight until the item animator is done with them, then they are reset on detach.
+        listener.onItemRangeSwiped(start, itemCount);
+        adapter.notifyItemRangeRemoved(start, itemCount);
+    }
+
+    private void onRowsInserted(final int positionStart, final int itemCount) {
+        if (state == STATE_IDLE || anchorPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+        if (runStart != RecyclerView.NO_POSITION && positionStart > runStart && positionStart <= runEnd) {
+            // The run would no longer be contiguous.
+            cancel();
+            return;
+        }
+
+        anchorPosition = shiftInserted(anchorPosition, positionStart, itemCount);
+        runStart = shiftInserted(runStart, positionStart, itemCount);
+        runEnd = shiftInserted(runEnd, positionStart, itemCount);
+    }
+
+    /**
+     * @return false if the gesture was cancelled because rows of the run were removed.
+     */
+    private boolean onRowsRemoved(final int positionStart, final int itemCount) {
+        if (state == STATE_IDLE || anchorPosition == RecyclerView.NO_POSITION) {
+            return true;
+        }
+        final int first = runStart != RecyclerView.NO_POSITION ? runStart : anchorPosition;
+        final int last = runStart != RecyclerView.NO_POSITION ? runEnd : anchorPosition;
+        final int removedEnd = positionStart + itemCount;
+        if (positionStart <= last && removedEnd > first) {
+            cancel();
+            return false;
+        }
+
+        anchorPosition = shiftRemoved(anchorPosition, removedEnd, itemCount);
+        runStart = shiftRemoved(runStart, removedEnd, itemCount);
+        runEnd = shiftRemoved(runEnd, removedEnd, itemCount);
+        return true;
+    }
+
+    private static int shiftInserted(final int position, final int positionStart, final int itemCount) {
+        return position != RecyclerView.NO_POSITION && position >= positionStart ? position + itemCount : position;
+    }
+
+    private static int shiftRemoved(final int position, final int removedEnd, final int itemCount) {
+        return position != RecyclerView.NO_POSITION && position >= removedEnd ? position - itemCount : position;
+    }
+
+    private void cancel() {
+        if (settleAnimator != null) {
+            settleAnimator.cancel();
+        } else {
+            resetTranslations();
+            reset();
+        }
+    }
+
+    private void resetTranslations() {
+        for (int i = 0; i < translatedViews.size(); i++) {
+            translatedViews.get(i).setTranslationX(0);
+        }
+        translatedViews.clear();
+    }
+
+    private void reset() {
+        state = STATE_IDLE;
+        deltaX = 0;
+        anchorPosition = RecyclerView.NO_POSITION;
+        runStart = RecyclerView.NO_POSITION;
+        runEnd = RecyclerView.NO_POSITION;
+        if (recyclerView != null) {
+            recyclerView.invalidate();
+        }
+    }
+
+    private boolean isInRun(final int position) {
+        return position != RecyclerView.NO_POSITION && position >= runStart && position <= runEnd;
+    }
+
+    private boolean isPastThreshold() {
+        return Math.abs(deltaX) >= recyclerView.getWidth() * swipeThreshold;
+    }
+
+    /**
+     * @return the offset, or 0 in a direction the helper doesn't swipe to.
+     */
+    private float clampDeltaX(final float dx) {
+        final boolean rtl = ViewCompat.getLayoutDirection(recyclerView) == ViewCompat.LAYOUT_DIRECTION_RTL;
+        final int leftFlag = rtl ? ItemTouchHelper.END : ItemTouchHelper.START;
+        final int rightFlag = rtl ? ItemTouchHelper.START : ItemTouchHelper.END;
+        if (dx < 0 && (swipeDirs & leftFlag) != 0) {
+            return dx;
+        }
+        if (dx > 0 && (swipeDirs & rightFlag) != 0) {
+            return dx;
+        }
+        return 0;
+    }
+
+    private boolean isSwipeable(final int position) {
+        return isSwipeable(recyclerView.getAdapter(), position);
+    }
+
+    private boolean isSwipeable(final RecyclerView.Adapter adapter, final int position) {
+        if (adapter == null || position < 0 || position >= adapter.getItemCount()) {
+            return false;
+        }
+        if (adapter != observedAdapter) {
+            observe(adapter);
+        }
+        return swipeRules == null || !swipeRules.isSwipeDisabled(position, adapter.getItemViewType(position));
+    }
+
+    private void observe(final RecyclerView.Adapter adapter) {
+        if (observedAdapter != null) {
+            observedAdapter.unregisterAdapterDataObserver(observer);
+        }
+
+        observedAdapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(observer);
+        }
+    }
+
+    /**
+     * @return the adapter position of the row at the given height, or NO_POSITION between rows.
+     */
+    private int positionAt(final float y) {
+        final int childCount = recyclerView.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = recyclerView.getChildAt(i);
+            final float translationY = child.getTranslationY();
+            if (y >= child.getTop() + translationY && y < child.getBottom() + translationY) {
+                return recyclerView.getChildAdapterPosition(child);
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Receives the run of rows removed by a bulk swipe.
+     * Remove the items from your data but don't notify the adapter, the helper does it with one range notification.
+     */
+    public interface OnRangeSwipeListener {
+        void onItemRangeSwiped(int positionStart, int itemCount);
+    }
+
+    /**
+     * Use this Builder to construct a {@link RecyclerViewBulkSwipeHelper}.
+     */
+    public static class Builder {
+        private int swipeDirs;
+        private float swipeThreshold = DEFAULT_SWIPE_THRESHOLD;
+        private SwipeRules swipeRules;
+        private OnRangeSwipeListener listener;
+        private Drawable background;
+
+        public Builder swipeToStart() {
+            swipeDirs |= ItemTouchHelper.START;
+            return this;
+        }
+
+        public Builder swipeToEnd() {
+            swipeDirs |= ItemTouchHelper.END;
+            return this;
+        }
+
+        public Builder setBackgroundColor(Drawable drawable) {
+            this.background = drawable;
+            return this;
+        }
+
+        /**
+         * Use the background of a shared style.
+         */
+        public Builder setStyle(SwipeStyle style) {
+            this.background = style.newBackground();
+            return this;
+        }
+
+        /**
+         * The fraction of the row width a swipe must travel to mark rows and to be removed on release, .5 by default.
+         */
+        public Builder setSwipeThreshold(float threshold) {
+            this.swipeThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Rows that can't be swiped, a run stops at the first one.
+         */
+        public Builder setSwipeRules(SwipeRules rules) {
+            this.swipeRules = rules;
+            return this;
+        }
+
+        /**
+         * Required, receives the swiped runs.
+         */
+        public Builder setSwipeListener(OnRangeSwipeListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public RecyclerViewBulkSwipeHelper build() {
+            return new RecyclerViewBulkSwipeHelper(this);
+        }
+
+        /**
+         * Convenience method to build and attach a {@link RecyclerViewBulkSwipeHelper} to a RecyclerView.
+         * @param recyclerView A valid <b>non-null</b> instance of a RecyclerView to attach the helper to.
+         * @return the built instance, already attached to the supplied RecyclerView.
+         */
+        public RecyclerViewBulkSwipeHelper buildAndAttach(@NonNull final RecyclerView recyclerView) {
+            final RecyclerViewBulkSwipeHelper helper = new RecyclerViewBulkSwipeHelper(this);
+            helper.attachToRecyclerView(recyclerView);
+            return helper;
+        }
+    }
+}
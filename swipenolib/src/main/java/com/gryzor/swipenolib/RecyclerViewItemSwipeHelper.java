@@ -1,13 +1,16 @@
 package com.gryzor.swipenolib;
 
+import android.app.Activity;
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.PorterDuff;
-import android.graphics.Rect;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.helper.ItemTouchHelper;
@@ -16,7 +19,9 @@ import android.text.TextUtils;
 import android.util.Log;
 import android.view.View;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link ItemTouchHelper} implementation to notify a {@link OnSwipeListener} that a particular position in
@@ -31,16 +36,34 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
     private static final String TAG = RecyclerViewItemSwipeHelper.class.toString();
     private Context context;
     private OnSwipeListener listener;
+    private final SwipeCommitController commitController;
+    private final AsyncSwipeDispatcher asyncDispatcher;
+    private final PagedSwipeDispatcher pagedDispatcher;
+    private final SwipeJournal journal;
+    private final SwipeSections sections;
     private Drawable background;
     private Drawable deleteIcon;
     private int deleteDecorationMargin;
     private int deleteTextSize;
     private boolean initiated;
-    private final int[] disabledLocations;
-    private boolean disableSwipeOnLastPosition;
+    private final SwipeEligibility eligibility;
     private TextPaint textPaint;
-    private Rect textRect;
     private String deleteText;
+    private int deleteTextMaxLines;
+    private SwipeLabelCache labelCache;
+    private final SwipeMetrics metrics;
+    private final RecyclerViewSwipeRenderer renderer;
+    private final SwipeStyle style;
+    private final boolean commitOnRelease;
+    private final float swipeThreshold;
+    private final float swipeEscapeVelocity;
+    private final float swipeVelocityThreshold;
+    private final List<RecyclerView.ViewHolder> committedOnRelease = new ArrayList<>(2);
+    private final boolean useHardwareLayers;
+    // Rows this helper put on a hardware layer, put back in clearView.
+    private final List<View> layeredViews = new ArrayList<>(2);
+    private RecyclerView.ViewHolder swipingHolder;
+    private long releaseNanos;
 
     private RecyclerViewItemSwipeHelper(final Context context, final Builder builder) {
         super(0, builder.swipeDirs);
@@ -53,14 +76,56 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
         }
 
         this.deleteDecorationMargin = builder.deleteDecorationMargin;
+        this.style = builder.style;
+        if (style != null) {
+            // Everything is already resolved by the style.
+            this.background = style.newBackground();
+            this.deleteIcon = null;
+            this.deleteDecorationMargin = style.getDeleteMargin();
+        }
         this.listener = builder.listener;
-        this.disabledLocations = builder.disabledLocations;
-        this.disableSwipeOnLastPosition = builder.disableSwipeOnLastPosition;
-
-        if (!TextUtils.isEmpty(builder.deleteText)) {
+        this.metrics = builder.metrics;
+        this.renderer = builder.renderer;
+        this.commitOnRelease = builder.commitOnRelease;
+        this.useHardwareLayers = builder.useHardwareLayers;
+        this.swipeThreshold = builder.swipeThreshold;
+        this.swipeEscapeVelocity = builder.swipeEscapeVelocity;
+        this.swipeVelocityThreshold = builder.swipeVelocityThreshold;
+        this.commitController = builder.commitController;
+        this.asyncDispatcher = builder.asyncListener != null
+                ? new AsyncSwipeDispatcher(builder.asyncExecutor, builder.asyncPositionMap, builder.asyncListener)
+                : null;
+        if (commitController != null && asyncDispatcher != null) {
+            throw new IllegalStateException("A commit controller and an async listener can't be used together.");
+        }
+        this.pagedDispatcher = builder.pagedSource != null
+                ? new PagedSwipeDispatcher(builder.pagedSource, builder.pageIndex)
+                : null;
+        this.journal = builder.journal;
+        this.sections = builder.sections;
+        if (sections != null && (commitController != null || asyncDispatcher != null || pagedDispatcher != null)) {
+            throw new IllegalStateException("Sections remove the swiped rows themselves, they can't be used with a "
+                    + "commit controller, an async listener or a paged source.");
+        }
+        if (journal != null && (commitController != null || asyncDispatcher != null)) {
+            throw new IllegalStateException("A journal records swipes right away, it can't be used with a commit "
+                    + "controller or an async listener, which may bring rows back.");
+        }
+        if (pagedDispatcher != null && (commitController != null || asyncDispatcher != null)) {
+            throw new IllegalStateException("A paged source removes the swiped rows itself, it can't be used "
+                    + "with a commit controller or an async listener.");
+        }
+        this.eligibility = new SwipeEligibility(
+                builder.disabledLocations,
+                builder.disabledItemIds,
+                builder.disableSwipeOnLastPosition,
+                builder.rules,
+                builder.pagedSource);
+
+        if (style == null && !TextUtils.isEmpty(builder.deleteText)) {
             this.deleteTextSize = builder.deleteTextSize;
-            this.textRect = new Rect();
             this.deleteText = builder.deleteText;
+            this.deleteTextMaxLines = builder.deleteTextMaxLines;
             this.textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG | Paint.LINEAR_TEXT_FLAG);
             this.textPaint.setStyle(Paint.Style.FILL);
             this.textPaint.setTextAlign(Paint.Align.LEFT);
@@ -84,24 +149,75 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
             deleteDecorationMargin = (int) context.getResources().getDimension(R.dimen.swipe_cell_delete_image_margin);
         }
 
-        if (deleteTextSize <= 0) {
+        if (deleteTextSize <= 0 && textPaint != null) {
             deleteTextSize = context.getResources().getDimensionPixelSize(R.dimen.swipe_cell_delete_text_size);
-            if (textPaint != null) {
-                textPaint.setTextSize(deleteTextSize);
-            }
+            textPaint.setTextSize(deleteTextSize);
         }
 
-        if (listener == null) {
-            Log.i(TAG, "Warning: you have no listener, you will not get notifications when a row is swiped.");
+        if (style != null) {
+            labelCache = style.hasLabel() ? new SwipeLabelCache(style) : null;
+        } else if (deleteIcon != null || !TextUtils.isEmpty(deleteText)) {
+            labelCache = new SwipeLabelCache(deleteIcon, deleteText, textPaint, deleteTextMaxLines);
         }
 
-        if (disabledLocations != null) {
-            Arrays.sort(disabledLocations);
+        if (listener == null && commitController == null && asyncDispatcher == null && pagedDispatcher == null
+                && sections == null) {
+            Log.i(TAG, "Warning: you have no listener, you will not get notifications when a row is swiped.");
         }
 
         initiated = true;
     }
 
+    /**
+     * Do the work of the first draw ahead of time: resolve the resources and render the label for rows of
+     * {@code rowWidth} pixels. May run on any thread, before the helper is attached.
+     */
+    private void prewarm(final int rowWidth) {
+        if (!initiated) {
+            init();
+        }
+
+        if (labelCache != null) {
+            labelCache.get(
+                    rowWidth - 2 * deleteDecorationMargin,
+                    context.getResources().getDisplayMetrics().densityDpi);
+        }
+    }
+
+    void setListener(final OnSwipeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Let go of everything tied to the RecyclerView: the adapters, the listener, the holders and the rendered label.
+     * The resolved resources are kept, attaching again doesn't redo the work of {@link #init()}.
+     */
+    void release() {
+        if (commitController != null) {
+            // Pending rows are committed now, their adapter is going away.
+            commitController.flush();
+            commitController.bind(null);
+        } else if (asyncDispatcher != null) {
+            asyncDispatcher.bind(null);
+        } else if (pagedDispatcher != null) {
+            pagedDispatcher.bind(null);
+        } else if (sections != null) {
+            sections.bind(null);
+        }
+        eligibility.unbind();
+
+        if (labelCache != null) {
+            labelCache.release();
+        }
+        listener = null;
+        swipingHolder = null;
+        committedOnRelease.clear();
+        for (int i = 0; i < layeredViews.size(); i++) {
+            layeredViews.get(i).setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+        layeredViews.clear();
+    }
+
     @Override
     public boolean onMove(
             final RecyclerView recyclerView,
@@ -111,28 +227,167 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
         return false;
     }
 
+    @Override
+    public void onSelectedChanged(final RecyclerView.ViewHolder viewHolder, final int actionState) {
+        super.onSelectedChanged(viewHolder, actionState);
+        if (actionState == ItemTouchHelper.ACTION_STATE_SWIPE) {
+            swipingHolder = viewHolder;
+            // A recycled holder swiped again is a new swipe.
+            committedOnRelease.remove(viewHolder);
+            if (useHardwareLayers) {
+                promote(viewHolder.itemView);
+            }
+        } else if (swipingHolder != null && actionState == ItemTouchHelper.ACTION_STATE_IDLE) {
+            // The user released the row.
+            swipingHolder = null;
+            if (metrics != null && releaseNanos == 0) {
+                releaseNanos = System.nanoTime();
+            }
+        }
+    }
+
+    @Override
+    public long getAnimationDuration(
+            final RecyclerView recyclerView,
+            final int animationType,
+            final float animateDx,
+            final float animateDy) {
+        // Called at release, once ItemTouchHelper has checked the distance and velocity thresholds.
+        onReleased(animationType);
+        return super.getAnimationDuration(recyclerView, animationType, animateDx, animateDy);
+    }
+
+    void onReleased(final int animationType) {
+        if (swipingHolder == null) {
+            return;
+        }
+
+        if (metrics != null) {
+            releaseNanos = System.nanoTime();
+        }
+        if (commitOnRelease && animationType == ItemTouchHelper.ANIMATION_TYPE_SWIPE_SUCCESS) {
+            // The swipe will complete, don't wait for the escape animation to end.
+            final RecyclerView.ViewHolder viewHolder = swipingHolder;
+            committedOnRelease.add(viewHolder);
+            dispatchSwipe(viewHolder);
+        }
+    }
+
+    boolean isCommittedOnRelease(final RecyclerView.ViewHolder viewHolder) {
+        return committedOnRelease.contains(viewHolder);
+    }
+
+    @Override
+    public float getSwipeThreshold(final RecyclerView.ViewHolder viewHolder) {
+        return swipeThreshold > 0 ? swipeThreshold : super.getSwipeThreshold(viewHolder);
+    }
+
+    @Override
+    public float getSwipeEscapeVelocity(final float defaultValue) {
+        return swipeEscapeVelocity > 0 ? swipeEscapeVelocity : super.getSwipeEscapeVelocity(defaultValue);
+    }
+
+    @Override
+    public float getSwipeVelocityThreshold(final float defaultValue) {
+        return swipeVelocityThreshold > 0 ? swipeVelocityThreshold : super.getSwipeVelocityThreshold(defaultValue);
+    }
+
     @Override
     public void onSwiped(final RecyclerView.ViewHolder viewHolder, final int direction) {
+        if (committedOnRelease.remove(viewHolder)) {
+            // Already dispatched when the row was released.
+            return;
+        }
+
+        dispatchSwipe(viewHolder);
+    }
+
+    private void dispatchSwipe(final RecyclerView.ViewHolder viewHolder) {
+        if (metrics != null && releaseNanos != 0) {
+            metrics.getSwipeCallbackNanos().record(System.nanoTime() - releaseNanos);
+            releaseNanos = 0;
+        }
+
+        if (journal != null) {
+            final long itemId = viewHolder.getItemId();
+            if (itemId != RecyclerView.NO_ID) {
+                journal.append(itemId);
+            }
+        }
+
         int swipedPosition = viewHolder.getAdapterPosition();
-        if (listener != null) {
+        if (commitController != null) {
+            commitController.onSwiped(swipedPosition);
+        } else if (asyncDispatcher != null) {
+            asyncDispatcher.onSwiped(viewHolder);
+        } else if (pagedDispatcher != null) {
+            pagedDispatcher.onSwiped(swipedPosition);
+        } else if (sections != null) {
+            sections.onSwiped(swipedPosition);
+        } else if (listener != null) {
             listener.onItemSwiped(swipedPosition);
         }
     }
 
     @Override
     public int getSwipeDirs(final RecyclerView recyclerView, final RecyclerView.ViewHolder viewHolder) {
-        int currPos = viewHolder.getAdapterPosition();
-        int lastPos = recyclerView.getAdapter().getItemCount() - 1;
+        if (metrics != null) {
+            metrics.onSwipeDirs();
+        }
 
-        if (disabledLocations != null
-                && Arrays.binarySearch(disabledLocations, currPos) >= 0
-                || (currPos == lastPos && disableSwipeOnLastPosition)) {
+        if (commitController != null) {
+            commitController.bind(recyclerView);
+            if (commitController.isPending(viewHolder.getAdapterPosition())) {
+                return 0;
+            }
+        } else if (asyncDispatcher != null) {
+            asyncDispatcher.bind(recyclerView.getAdapter());
+        } else if (pagedDispatcher != null) {
+            pagedDispatcher.bind(recyclerView.getAdapter());
+        } else if (sections != null) {
+            sections.bind(recyclerView.getAdapter());
+        }
+
+        if (eligibility.isSwipeDisabled(recyclerView, viewHolder)) {
+            return 0;
+        }
+
+        if (sections != null
+                && sections.isSwipeDisabled(viewHolder.getAdapterPosition(), viewHolder.getItemViewType())) {
             return 0;
         }
 
         return super.getSwipeDirs(recyclerView, viewHolder);
     }
 
+    @Override
+    public void clearView(final RecyclerView recyclerView, final RecyclerView.ViewHolder viewHolder) {
+        super.clearView(recyclerView, viewHolder);
+        // Called once the row is back in place, or once it's detached after being swiped away. A row removed by the
+        // listener at release has no position anymore, so ItemTouchHelper never calls onSwiped for it.
+        committedOnRelease.remove(viewHolder);
+        demote(viewHolder.itemView);
+    }
+
+    /**
+     * Draw the row into a hardware layer while it moves, so each frame only composites it at a new offset.
+     * Rows that already have a layer are left alone.
+     */
+    private void promote(final View itemView) {
+        if (itemView.getLayerType() == View.LAYER_TYPE_NONE
+                && itemView.isHardwareAccelerated()
+                && !layeredViews.contains(itemView)) {
+            itemView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+            layeredViews.add(itemView);
+        }
+    }
+
+    private void demote(final View itemView) {
+        if (layeredViews.remove(itemView)) {
+            itemView.setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+    }
+
     @Override
     public void onChildDraw(
             final Canvas canvas,
@@ -143,10 +398,32 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
             final int actionState,
             final boolean isCurrentlyActive) {
 
+        if (metrics == null) {
+            drawChild(canvas, recyclerView, viewHolder, deltaX, deltaY, actionState, isCurrentlyActive);
+            return;
+        }
+
+        final boolean traced = SwipeTrace.begin(metrics, SwipeTrace.CHILD_DRAW);
+        final long start = System.nanoTime();
+        drawChild(canvas, recyclerView, viewHolder, deltaX, deltaY, actionState, isCurrentlyActive);
+        metrics.getChildDrawNanos().record(System.nanoTime() - start);
+        SwipeTrace.end(traced);
+    }
+
+    private void drawChild(
+            final Canvas canvas,
+            final RecyclerView recyclerView,
+            final RecyclerView.ViewHolder viewHolder,
+            final float deltaX,
+            final float deltaY,
+            final int actionState,
+            final boolean isCurrentlyActive) {
+
         final View itemView = viewHolder.itemView;
 
         // This method may get called for ViewHolders that are already swiped away, discard those calls.
-        if (viewHolder.getAdapterPosition() == RecyclerView.NO_POSITION) {
+        // Rows committed on release keep animating out after their removal.
+        if (viewHolder.getAdapterPosition() == RecyclerView.NO_POSITION && !committedOnRelease.contains(viewHolder)) {
             return;
         }
 
@@ -154,36 +431,48 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
             init();
         }
 
+        if (renderer != null) {
+            // The renderer draws every exposed area in one pass, from its own onDraw.
+            renderer.onSwipeFrame(itemView, labelCache, deleteDecorationMargin);
+        } else if ((int) deltaX != 0) {
+            drawUnderlay(canvas, itemView, deltaX);
+        }
+
+        super.onChildDraw(canvas, recyclerView, viewHolder, deltaX, deltaY, actionState, isCurrentlyActive);
+    }
+
+    private void drawUnderlay(final Canvas canvas, final View itemView, final float deltaX) {
+        final int revealedLeft = SwipeGeometry.revealedLeft(itemView.getRight(), deltaX);
+
         // Draw Background
         background.setBounds(
-                itemView.getRight() + (int) deltaX,
+                revealedLeft,
                 itemView.getTop(),
                 itemView.getRight(),
                 itemView.getBottom());
 
         background.draw(canvas);
 
-        // Draw Icon or Text
-        if (deleteIcon != null) {
-            int itemHeight = itemView.getBottom() - itemView.getTop();
-            int intrinsicWidth = deleteIcon.getIntrinsicWidth();
-            int intrinsicHeight = deleteIcon.getIntrinsicWidth();
-
-            int iconLeft = itemView.getRight() - deleteDecorationMargin - intrinsicWidth;
-            int iconRight = itemView.getRight() - deleteDecorationMargin;
-            int iconTop = itemView.getTop() + (itemHeight - intrinsicHeight) / 2;
-            int iconBottom = iconTop + intrinsicHeight;
-            deleteIcon.setBounds(iconLeft, iconTop, iconRight, iconBottom);
-            deleteIcon.draw(canvas);
-        } else if (!TextUtils.isEmpty(deleteText)) {
-            int itemHeight = itemView.getBottom() - itemView.getTop();
-            textPaint.getTextBounds(deleteText, 0, deleteText.length(), textRect);
-            float textX = itemView.getRight() - deleteDecorationMargin - textRect.width();
-            float textY = itemView.getTop() + (itemHeight / 2f) + textRect.height() / 2f + textRect.bottom;
-            canvas.drawText(deleteText, textX, textY, textPaint);
+        // Draw Icon or Text, both are pre-rendered so this is just a blit.
+        if (labelCache != null) {
+            final Bitmap label = labelCache.get(
+                    itemView.getWidth() - 2 * deleteDecorationMargin,
+                    itemView.getResources().getDisplayMetrics().densityDpi);
+
+            if (label != null) {
+                int labelLeft = SwipeGeometry.labelLeft(itemView.getRight(), deleteDecorationMargin, label.getWidth());
+                int labelTop = SwipeGeometry.centeredTop(itemView.getTop(), itemView.getBottom(), label.getHeight());
+                if (labelLeft >= revealedLeft) {
+                    canvas.drawBitmap(label, labelLeft, labelTop, null);
+                } else if (labelLeft + label.getWidth() > revealedLeft) {
+                    // Only paint the part of the label that is revealed.
+                    final int saveCount = canvas.save();
+                    canvas.clipRect(revealedLeft, itemView.getTop(), itemView.getRight(), itemView.getBottom());
+                    canvas.drawBitmap(label, labelLeft, labelTop, null);
+                    canvas.restoreToCount(saveCount);
+                }
+            }
         }
-
-        super.onChildDraw(canvas, recyclerView, viewHolder, deltaX, deltaY, actionState, isCurrentlyActive);
     }
 
     /**
@@ -193,6 +482,13 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
         void onItemSwiped(int position);
     }
 
+    /**
+     * Receives a prewarmed helper, on the main thread.
+     */
+    public interface OnPrewarmedListener {
+        void onPrewarmed(ItemTouchHelper helper);
+    }
+
     /**
      * Use this builder to construct instances of {@link ItemTouchHelper}.
      */
@@ -203,10 +499,29 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
         private String deleteText = null;
         private int deleteDecorationColor = Color.WHITE;
         private int deleteTextSize = -1;
+        private int deleteTextMaxLines = 1;
         private int deleteDecorationMargin = -1;
         private OnSwipeListener listener;
         private int[] disabledLocations;
+        private long[] disabledItemIds;
         private boolean disableSwipeOnLastPosition;
+        private SwipeRules rules;
+        private SwipeCommitController commitController;
+        private Executor asyncExecutor;
+        private SoftDeletePositionMap asyncPositionMap;
+        private OnAsyncSwipeListener asyncListener;
+        private PagedSwipeSource pagedSource;
+        private PageOffsetIndex pageIndex;
+        private SwipeStyle style;
+        private SwipeJournal journal;
+        private SwipeSections sections;
+        private boolean commitOnRelease;
+        private boolean useHardwareLayers;
+        private float swipeThreshold = -1;
+        private float swipeEscapeVelocity = -1;
+        private float swipeVelocityThreshold = -1;
+        private SwipeMetrics metrics;
+        private RecyclerViewSwipeRenderer renderer;
 
         public Builder swipeToStart() {
             swipeDirs |= ItemTouchHelper.START;
@@ -243,6 +558,15 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
             return this;
         }
 
+        /**
+         * Maximum number of lines used to display the delete text. With one line (the default) the text is
+         * ellipsized when it doesn't fit the row, otherwise it wraps.
+         */
+        public Builder setDeleteTextMaxLines(int maxLines) {
+            this.deleteTextMaxLines = maxLines;
+            return this;
+        }
+
         public Builder setDeleteDecorationColor(int color) {
             this.deleteDecorationColor = color;
             return this;
@@ -253,24 +577,295 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
             return this;
         }
 
+        /**
+         * Disable swipe on the rows with the given {@link RecyclerView.Adapter#getItemId(int)}.
+         * Requires an adapter with stable ids. Unlike positions, ids keep matching the same rows
+         * after items are inserted, removed or moved.
+         * @param ids the stable ids of the rows that cannot be swiped.
+         * @return this builder.
+         */
+        public Builder disableSwipeOnItemIds(long... ids) {
+            disabledItemIds = ids;
+            return this;
+        }
+
         public Builder disableSwipeOnLastItem() {
             disableSwipeOnLastPosition = true;
             return this;
         }
 
+        /**
+         * Disable swipe on every position in {@code [fromPosition, toPosition]}, both ends included.
+         * Prefer this over {@link #disableSwipeOnPositions(int...)} for large sections of the list.
+         * @see SwipeRules#disableRange(int, int)
+         */
+        public Builder disableSwipeOnRange(int fromPosition, int toPosition) {
+            obtainRules().disableRange(fromPosition, toPosition);
+            return this;
+        }
+
+        /**
+         * Disable swipe on all the rows of the given view types (headers, footers, etc.).
+         * @see SwipeRules#disableViewTypes(int...)
+         */
+        public Builder disableSwipeOnViewTypes(int... viewTypes) {
+            obtainRules().disableViewTypes(viewTypes);
+            return this;
+        }
+
+        /**
+         * Disable swipe on the rows matching the predicate.
+         * @see SwipeRules#disableWhen(SwipeRules.Predicate)
+         */
+        public Builder disableSwipeWhen(SwipeRules.Predicate predicate) {
+            obtainRules().disableWhen(predicate);
+            return this;
+        }
+
+        /**
+         * Use a {@link SwipeRules} instance you keep a reference to, so rules can be changed after the helper
+         * is built. Replaces any rule set with {@link #disableSwipeOnRange(int, int)},
+         * {@link #disableSwipeOnViewTypes(int...)} or {@link #disableSwipeWhen(SwipeRules.Predicate)}.
+         */
+        public Builder setSwipeRules(SwipeRules rules) {
+            this.rules = rules;
+            return this;
+        }
+
+        private SwipeRules obtainRules() {
+            if (rules == null) {
+                rules = new SwipeRules();
+            }
+            return rules;
+        }
+
         public Builder setSwipeListener(OnSwipeListener listener) {
             this.listener = listener;
             return this;
         }
 
+        /**
+         * Defer and batch the swipe deletions: swiped rows stay pending, and can be undone, until the controller
+         * commits them in one batch. In this mode the {@link OnSwipeListener} is not called.
+         * @param controller the controller, keep a reference to it to undo or flush.
+         */
+        public Builder setCommitController(SwipeCommitController controller) {
+            this.commitController = controller;
+            return this;
+        }
+
+        /**
+         * Handle swipes off the main thread. The swiped row is hidden right away with the position map, which
+         * your adapter must use, and the listener runs on the executor. If the operation fails, the row is shown
+         * again at its position. In this mode the {@link OnSwipeListener} is not called.
+         * @param executor runs {@link OnAsyncSwipeListener#onItemSwiped(SwipeOperation)}.
+         * @param positionMap the map your adapter uses to translate positions.
+         * @param listener the listener.
+         */
+        public Builder setAsyncSwipeListener(
+                @NonNull Executor executor,
+                @NonNull SoftDeletePositionMap positionMap,
+                @NonNull OnAsyncSwipeListener listener) {
+            this.asyncExecutor = executor;
+            this.asyncPositionMap = positionMap;
+            this.asyncListener = listener;
+            return this;
+        }
+
+        /**
+         * Dispatch a swipe as soon as the row is released, when the distance or the velocity guarantee that the
+         * swipe completes, instead of after the escape animation. The animation keeps running meanwhile.
+         * Off by default.
+         */
+        public Builder commitOnRelease() {
+            this.commitOnRelease = true;
+            return this;
+        }
+
+        /**
+         * Put the swiped row on a hardware layer while it's swiped and while it slides out or back, and take it off
+         * once the row is back in place or recycled. Moving the row then only composites the layer instead of
+         * redrawing the layout on every frame. Worth it for complex rows. Rows with a layer type of their own are
+         * left alone. Off by default.
+         */
+        public Builder useHardwareLayers() {
+            this.useHardwareLayers = true;
+            return this;
+        }
+
+        /**
+         * Fraction of the row width the user has to swipe for the swipe to complete, 0.5 by default.
+         */
+        public Builder setSwipeThreshold(float threshold) {
+            this.swipeThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Minimum fling velocity, in pixels per second, that completes a swipe regardless of the distance.
+         * Defaults to the {@link ItemTouchHelper} value.
+         */
+        public Builder setSwipeEscapeVelocity(float pixelsPerSecond) {
+            this.swipeEscapeVelocity = pixelsPerSecond;
+            return this;
+        }
+
+        /**
+         * Maximum velocity, in pixels per second, taken into account for a fling.
+         * Defaults to the {@link ItemTouchHelper} value.
+         */
+        public Builder setSwipeVelocityThreshold(float pixelsPerSecond) {
+            this.swipeVelocityThreshold = pixelsPerSecond;
+            return this;
+        }
+
+        /**
+         * Record the item id of every swiped row in a write-behind journal, which persists the deletions off the
+         * main thread. Needs an adapter with stable ids. The swipe listener, if any, is still called.
+         */
+        public Builder setJournal(SwipeJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        /**
+         * Use a shared style. It replaces the background, delete image, delete text, sizes and color set on this
+         * builder.
+         */
+        public Builder setStyle(SwipeStyle style) {
+            this.style = style;
+            return this;
+        }
+
+        /**
+         * Swipe rows of a lazily loaded list. Placeholder rows can't be swiped, {@link #disableSwipeOnLastItem()}
+         * applies to the last row of the whole list, and each swiped row is handed to the source right away, then
+         * removed from the adapter. In this mode the {@link OnSwipeListener} is not called.
+         * @param source the paged source your adapter reads from.
+         */
+        public Builder setPagedSource(PagedSwipeSource source) {
+            this.pagedSource = source;
+            return this;
+        }
+
+        /**
+         * Same as {@link #setPagedSource(PagedSwipeSource)}, and each swiped row is removed from the page index
+         * right after {@link PagedSwipeSource#onItemSwiped(int)} returns, so the source can still look it up.
+         * @param pageIndex the index of the loaded pages, owned by the helper for removals.
+         */
+        public Builder setPagedSource(PagedSwipeSource source, PageOffsetIndex pageIndex) {
+            this.pagedSource = source;
+            this.pageIndex = pageIndex;
+            return this;
+        }
+
+        /**
+         * Route the swipes of a list made of several sections to the policy and listener of each section, with
+         * positions local to the section. The rules and the last item rule of this builder still apply to adapter
+         * positions. In this mode the {@link OnSwipeListener} is not called.
+         * @param sections the sections of the adapter, kept up to date with their sizes.
+         */
+        public Builder setSections(SwipeSections sections) {
+            this.sections = sections;
+            return this;
+        }
+
+        /**
+         * Record the cost of the swipe hot paths into the given metrics. Off by default, and free when off.
+         */
+        public Builder setMetrics(SwipeMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Let a {@link RecyclerViewSwipeRenderer} draw the swiped rows, together with the gap, instead of
+         * drawing them from the swipe callback. The background set here is then unused.
+         */
+        public Builder setRenderer(RecyclerViewSwipeRenderer renderer) {
+            this.renderer = renderer;
+            return this;
+        }
+
+        /**
+         * Build an instance of {@link ItemTouchHelper} with everything the first swipe frame needs already done:
+         * dimensions resolved, default drawables created, icon or text rendered for rows as wide as the screen.
+         * Can be called from a background thread.
+         * @param context a valid <b>non-null</b> Context (used to inflate drawables and such).
+         * @return a valid instance of {@link ItemTouchHelper}, ready to be attached.
+         */
+        public ItemTouchHelper prewarm(@NonNull Context context) {
+            return prewarm(context, context.getResources().getDisplayMetrics().widthPixels);
+        }
+
+        /**
+         * Same as {@link #prewarm(Context)}, for rows of the given width.
+         * @param rowWidth the width of the rows, in pixels.
+         */
+        public ItemTouchHelper prewarm(@NonNull Context context, int rowWidth) {
+            RecyclerViewItemSwipeHelper callback = buildCallback(context);
+            callback.prewarm(rowWidth);
+            return new ItemTouchHelper(callback);
+        }
+
+        /**
+         * Run {@link #prewarm(Context, int)} on the executor and hand the helper to the listener on the main thread.
+         * Don't change this builder until the listener is called.
+         * @param rowWidth the width of the rows, in pixels.
+         */
+        public void prewarm(
+                @NonNull final Context context,
+                final int rowWidth,
+                @NonNull Executor executor,
+                @NonNull final OnPrewarmedListener listener) {
+            final Handler handler = new Handler(Looper.getMainLooper());
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final ItemTouchHelper helper = prewarm(context, rowWidth);
+                    handler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onPrewarmed(helper);
+                        }
+                    });
+                }
+            });
+        }
+
+        /**
+         * Build a helper tied to the lifecycle of the Activity and attach it to the RecyclerView. Resources are
+         * resolved with the application context, and the helper detaches and frees its caches when the Activity is
+         * destroyed. Keep the returned binding to attach it again after a configuration change.
+         * The binding outlives the Activity, so only the {@link OnSwipeListener} is handed over from one Activity to
+         * the next: a commit controller, an async listener, a paged source, sections, a renderer or a
+         * {@link SwipeRules} predicate can't be used with it.
+         * @param activity a valid <b>non-null</b> Activity, not retained past its destruction.
+         * @param recyclerView a valid <b>non-null</b> {@link RecyclerView} of that Activity.
+         * @return the binding, attached to the recyclerView.
+         * @throws IllegalStateException if this builder holds one of the above.
+         */
+        public SwipeLifecycleBinding bindToLifecycle(@NonNull Activity activity, @NonNull RecyclerView recyclerView) {
+            if (commitController != null || asyncListener != null || pagedSource != null || sections != null
+                    || renderer != null || (rules != null && rules.hasPredicate())) {
+                throw new IllegalStateException("A helper bound to a lifecycle only hands its OnSwipeListener over "
+                        + "to the next Activity, it can't be used with a commit controller, an async listener, a "
+                        + "paged source, sections, a renderer or a rules predicate, which would keep the first "
+                        + "Activity alive.");
+            }
+            RecyclerViewItemSwipeHelper callback = buildCallback(activity.getApplicationContext());
+            SwipeLifecycleBinding binding = new SwipeLifecycleBinding(callback);
+            binding.attach(activity, recyclerView, listener);
+            return binding;
+        }
+
         /**
          * Build an instance of {@link ItemTouchHelper} that can be attached to a recycler view.
          * @param context a valid <b>non-null</b> Context (used to inflate drawables and such).
          * @return a valid instance of {@link ItemTouchHelper}.
          */
         public ItemTouchHelper build(@NonNull Context context) {
-            RecyclerViewItemSwipeHelper callback = new RecyclerViewItemSwipeHelper(context, this);
-            return new ItemTouchHelper(callback);
+            return new ItemTouchHelper(buildCallback(context));
         }
 
         /**
@@ -280,11 +875,14 @@ public final class RecyclerViewItemSwipeHelper extends ItemTouchHelper.SimpleCal
          * @return a valid instance of {@link ItemTouchHelper} attached to a recyclerView.
          */
         public ItemTouchHelper buildAndAttach(@NonNull Context context, @NonNull RecyclerView recyclerView) {
-            RecyclerViewItemSwipeHelper swipeHelper = new RecyclerViewItemSwipeHelper(context, this);
-            ItemTouchHelper helper = new ItemTouchHelper(swipeHelper);
+            ItemTouchHelper helper = new ItemTouchHelper(buildCallback(context));
             helper.attachToRecyclerView(recyclerView);
             return helper;
         }
+
+        RecyclerViewItemSwipeHelper buildCallback(Context context) {
+            return new RecyclerViewItemSwipeHelper(context, this);
+        }
     }
 }
 
@@ -7,19 +7,24 @@ import android.graphics.drawable.Drawable;
 import android.support.annotation.NonNull;
 import android.support.v7.widget.RecyclerView;
 import android.util.Log;
-import android.view.View;
 
 /**
  * A custom {@link RecyclerView.ItemDecoration} that plays alongside the implementation
  * of {@link RecyclerViewItemSwipeHelper} to support swipe actions.
+ * When the RecyclerView uses a {@link SwipeItemAnimator}, only the views being moved by the animator are
+ * looked at, and nothing is done while no remove or move animation runs.
+ * Grids are supported, the gap is drawn in each column.
  */
 public class RecyclerViewSwipeHelperDecorator extends RecyclerView.ItemDecoration {
 
     private Drawable background;
     private boolean initiated;
+    private final SwipeMetrics metrics;
+    private final GapTracker gapTracker = new GapTracker();
 
     private RecyclerViewSwipeHelperDecorator(final Builder builder) {
         background = builder.background;
+        metrics = builder.metrics;
     }
 
     private void init() {
@@ -33,64 +38,34 @@ public class RecyclerViewSwipeHelperDecorator extends RecyclerView.ItemDecoratio
 
     @Override
     public void onDraw(final Canvas canvas, final RecyclerView parent, final RecyclerView.State state) {
-        if (!initiated) {
-            init();
+        if (metrics == null) {
+            drawGap(canvas, parent);
+        } else {
+            final boolean traced = SwipeTrace.begin(metrics, SwipeTrace.DECORATOR_DRAW);
+            final long start = System.nanoTime();
+            drawGap(canvas, parent);
+            metrics.getDecoratorDrawNanos().record(System.nanoTime() - start);
+            SwipeTrace.end(traced);
         }
 
-        // If an animation is in progress we need to draw the background.
-        if (parent.getItemAnimator().isRunning()) {
-            // When an item is removed, other items may need to move up and others down (at the same time).
-            // For example, when you remove something in the middle of the list.
-
-            // Step 1:
-            // Find first child with translationY > 0 and last one with translationY < 0
-            // we're after a rect that is not covered in recycler-view views at this point in time
-            View lastViewComingDown = null;
-            View firstViewComingUp = null;
-
-            // One side is always fixed
-            int left = 0;
-            int right = parent.getWidth();
-
-            // The other we need to find out
-            int top = 0;
-            int bottom = 0;
-
-            // Find translating views
-            int childCount = parent.getLayoutManager().getChildCount();
-            for (int i = 0; i < childCount; i++) {
-                View child = parent.getLayoutManager().getChildAt(i);
-                if (child.getTranslationY() < 0) {
-                    // View is coming down
-                    lastViewComingDown = child;
-                } else if (child.getTranslationY() > 0) {
-                    // view is coming up
-                    if (firstViewComingUp == null) {
-                        firstViewComingUp = child;
-                    }
-                }
-            }
+        super.onDraw(canvas, parent, state);
+    }
 
-            if (lastViewComingDown != null && firstViewComingUp != null) {
-                // Views are coming down AND going up to fill the void
-                top = lastViewComingDown.getBottom() + (int) lastViewComingDown.getTranslationY();
-                bottom = firstViewComingUp.getTop() + (int) firstViewComingUp.getTranslationY();
-            } else if (lastViewComingDown != null) {
-                // Views are going down to fill the void.
-                top = lastViewComingDown.getBottom() + (int) lastViewComingDown.getTranslationY();
-                bottom = lastViewComingDown.getBottom();
-            } else if (firstViewComingUp != null) {
-                // views are coming up to fill the void
-                top = firstViewComingUp.getTop();
-                bottom = firstViewComingUp.getTop() + (int) firstViewComingUp.getTranslationY();
-            }
+    private void drawGap(final Canvas canvas, final RecyclerView parent) {
+        if (!initiated) {
+            init();
+        }
 
+        final int gapCount = gapTracker.findGaps(parent);
+        for (int i = 0; i < gapCount; i++) {
             // Finally Draw the background.
-            background.setBounds(left, top, right, bottom);
+            background.setBounds(
+                    gapTracker.getLeft(i),
+                    gapTracker.getTop(i),
+                    gapTracker.getRight(i),
+                    gapTracker.getBottom(i));
             background.draw(canvas);
         }
-
-        super.onDraw(canvas, parent, state);
     }
 
     /**
@@ -98,12 +73,29 @@ public class RecyclerViewSwipeHelperDecorator extends RecyclerView.ItemDecoratio
      */
     public static class Builder {
         private Drawable background;
+        private SwipeMetrics metrics;
 
         public Builder setBackgroundColor(Drawable drawable) {
             this.background = drawable;
             return this;
         }
 
+        /**
+         * Use the background of a shared style.
+         */
+        public Builder setStyle(SwipeStyle style) {
+            this.background = style.newBackground();
+            return this;
+        }
+
+        /**
+         * Record the duration of each {@code onDraw} into the given metrics. Off by default, and free when off.
+         */
+        public Builder setMetrics(SwipeMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         public RecyclerView.ItemDecoration build() {
             return new RecyclerViewSwipeHelperDecorator(this);
         }
@@ -0,0 +1,193 @@
+package com.gryzor.swipenolib;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RecyclerView.ItemDecoration} that draws, in a single pass, both the background revealed behind the rows
+ * being swiped and the gap left while the other rows animate after a removal. It replaces the drawing done by
+ * {@link RecyclerViewItemSwipeHelper} and {@link RecyclerViewSwipeHelperDecorator}, use it instead of the latter.
+ * Only the exposed area is painted: nothing is drawn for a row that hasn't moved, and the label is clipped to
+ * the part of the row that is revealed.
+ * Pass it to {@link RecyclerViewItemSwipeHelper.Builder#setRenderer(RecyclerViewSwipeRenderer)} and add it to the
+ * RecyclerView after attaching the {@link android.support.v7.widget.helper.ItemTouchHelper}, so it draws the rows
+ * of the current frame.
+ */
+public class RecyclerViewSwipeRenderer extends RecyclerView.ItemDecoration {
+
+    private Drawable background;
+    private boolean initiated;
+    private final SwipeMetrics metrics;
+    private final GapTracker gapTracker = new GapTracker();
+    private final List<View> swipedViews = new ArrayList<>();
+    private SwipeLabelCache labelCache;
+    private int labelMargin;
+
+    private RecyclerViewSwipeRenderer(final Builder builder) {
+        background = builder.background;
+        metrics = builder.metrics;
+    }
+
+    private void init() {
+        if (background == null) {
+            // Set a Default
+            Log.w("SWIPE", "Warning: you didn't pass a background color, using RED.");
+            background = new ColorDrawable(Color.RED);
+        }
+        initiated = true;
+    }
+
+    /**
+     * Called by the helper for each row it draws in the current frame.
+     */
+    void onSwipeFrame(final View itemView, final SwipeLabelCache labelCache, final int labelMargin) {
+        this.labelCache = labelCache;
+        this.labelMargin = labelMargin;
+        if (!swipedViews.contains(itemView)) {
+            swipedViews.add(itemView);
+        }
+    }
+
+    @Override
+    public void onDraw(final Canvas canvas, final RecyclerView parent, final RecyclerView.State state) {
+        if (metrics == null) {
+            render(canvas, parent);
+        } else {
+            final boolean traced = SwipeTrace.begin(metrics, SwipeTrace.DECORATOR_DRAW);
+            final long start = System.nanoTime();
+            render(canvas, parent);
+            metrics.getDecoratorDrawNanos().record(System.nanoTime() - start);
+            SwipeTrace.end(traced);
+        }
+
+        super.onDraw(canvas, parent, state);
+    }
+
+    private void render(final Canvas canvas, final RecyclerView parent) {
+        final int gapCount = gapTracker.findGaps(parent);
+        if (swipedViews.isEmpty() && gapCount == 0) {
+            // Nothing is exposed this frame.
+            return;
+        }
+
+        if (!initiated) {
+            init();
+        }
+
+        for (int i = 0; i < swipedViews.size(); i++) {
+            final View itemView = swipedViews.get(i);
+            if (itemView.getParent() == parent) {
+                drawUnderlay(canvas, itemView);
+            }
+        }
+        swipedViews.clear();
+
+        for (int i = 0; i < gapCount; i++) {
+            background.setBounds(
+                    gapTracker.getLeft(i),
+                    gapTracker.getTop(i),
+                    gapTracker.getRight(i),
+                    gapTracker.getBottom(i));
+            background.draw(canvas);
+        }
+    }
+
+    private void drawUnderlay(final Canvas canvas, final View itemView) {
+        final int deltaX = (int) itemView.getTranslationX();
+        if (deltaX == 0) {
+            return;
+        }
+
+        final int deltaY = (int) itemView.getTranslationY();
+        final int top = itemView.getTop() + deltaY;
+        final int bottom = itemView.getBottom() + deltaY;
+        final int left = deltaX < 0 ? SwipeGeometry.revealedLeft(itemView.getRight(), deltaX) : itemView.getLeft();
+        final int right = deltaX < 0 ? itemView.getRight() : itemView.getLeft() + deltaX;
+
+        background.setBounds(left, top, right, bottom);
+        background.draw(canvas);
+
+        if (labelCache == null) {
+            return;
+        }
+
+        final Bitmap label = labelCache.get(
+                itemView.getWidth() - 2 * labelMargin,
+                itemView.getResources().getDisplayMetrics().densityDpi);
+        if (label == null) {
+            return;
+        }
+
+        final int labelLeft = SwipeGeometry.labelLeft(itemView.getRight(), labelMargin, label.getWidth());
+        final int labelRight = labelLeft + label.getWidth();
+        if (labelRight <= left || labelLeft >= right) {
+            // Still covered by the row.
+            return;
+        }
+
+        final int labelTop = SwipeGeometry.centeredTop(top, bottom, label.getHeight());
+        if (labelLeft >= left && labelRight <= right) {
+            canvas.drawBitmap(label, labelLeft, labelTop, null);
+        } else {
+            final int saveCount = canvas.save();
+            canvas.clipRect(left, top, right, bottom);
+            canvas.drawBitmap(label, labelLeft, labelTop, null);
+            canvas.restoreToCount(saveCount);
+        }
+    }
+
+    /**
+     * Use this Builder to construct a {@link RecyclerViewSwipeRenderer}.
+     */
+    public static class Builder {
+        private Drawable background;
+        private SwipeMetrics metrics;
+
+        public Builder setBackgroundColor(Drawable drawable) {
+            this.background = drawable;
+            return this;
+        }
+
+        /**
+         * Use the background of a shared style.
+         */
+        public Builder setStyle(SwipeStyle style) {
+            this.background = style.newBackground();
+            return this;
+        }
+
+        /**
+         * Record the duration of each {@code onDraw} into the given metrics. Off by default, and free when off.
+         */
+        public Builder setMetrics(SwipeMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public RecyclerViewSwipeRenderer build() {
+            return new RecyclerViewSwipeRenderer(this);
+        }
+
+        /**
+         * Convenience method to build and add a {@link RecyclerViewSwipeRenderer} to a RecyclerView.
+         * Call it after attaching the swipe helper.
+         * @param recyclerView A valid <b>non-null</b> instance of a RecyclerView to add the renderer to.
+         * @return the built instance, already added to the supplied RecyclerView.
+         */
+        public RecyclerViewSwipeRenderer buildAndAdd(@NonNull final RecyclerView recyclerView) {
+            final RecyclerViewSwipeRenderer renderer = new RecyclerViewSwipeRenderer(this);
+            recyclerView.addItemDecoration(renderer);
+            return renderer;
+        }
+    }
+}
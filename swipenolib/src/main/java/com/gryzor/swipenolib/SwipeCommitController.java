@@ -0,0 +1,266 @@
+package com.gryzor.swipenolib;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers and batches the swipe deletions of a {@link RecyclerViewItemSwipeHelper}.
+ * A swiped row stays swiped away while it's pending, even once scrolled out and back in. Pending rows are committed
+ * together, with one call to {@link OnBatchSwipeListener#onItemsSwiped(int[])} and one
+ * {@code notifyItemRangeRemoved} per run of consecutive rows, either when the undo timeout elapses after
+ * the last swipe, when the buffer is full or when {@link #flush()} is called.
+ * Until then, {@link #undo(int)} brings a row back without touching your data.
+ * Pass it to {@link RecyclerViewItemSwipeHelper.Builder#setCommitController(SwipeCommitController)}.
+ * All methods must be called from the main thread.
+ */
+public final class SwipeCommitController {
+
+    private final long undoTimeoutMillis;
+    private final int maxPending;
+    private final OnBatchSwipeListener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final PositionIntervals pending = new PositionIntervals();
+    private RecyclerView.Adapter adapter;
+    private RecyclerView recyclerView;
+    // Views of pending rows bound again after a scroll, kept out of sight until they leave.
+    private final List<View> hiddenViews = new ArrayList<>();
+
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            // Positions are meaningless after a full change, nothing can be committed or undone safely.
+            cancelPending();
+        }
+
+        @Override
+        public void onItemRangeInserted(final int positionStart, final int itemCount) {
+            pending.onItemRangeInserted(positionStart, itemCount);
+            // Rows inserted in the middle of a pending run are not pending.
+            pending.remove(positionStart, positionStart + itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(final int positionStart, final int itemCount) {
+            pending.onItemRangeRemoved(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(final int fromPosition, final int toPosition, final int itemCount) {
+            pending.onItemMoved(fromPosition, toPosition);
+        }
+    };
+
+    private final RecyclerView.OnChildAttachStateChangeListener childListener =
+            new RecyclerView.OnChildAttachStateChangeListener() {
+                @Override
+                public void onChildViewAttachedToWindow(final View view) {
+                    // A recycled view bound to a pending row would show its content again.
+                    if (pending.contains(recyclerView.getChildAdapterPosition(view))) {
+                        view.setTranslationX(-recyclerView.getWidth());
+                        hiddenViews.add(view);
+                    }
+                }
+
+                @Override
+                public void onChildViewDetachedFromWindow(final View view) {
+                    if (hiddenViews.remove(view)) {
+                        view.setTranslationX(0);
+                    }
+                }
+            };
+
+    /**
+     * @param undoTimeoutMillis how long to wait after the last swipe before committing.
+     * @param maxPending the maximum number of rows kept pending, swiping one more commits them all.
+     * @param listener receives the swiped positions of each batch.
+     */
+    public SwipeCommitController(
+            final long undoTimeoutMillis,
+            final int maxPending,
+            @NonNull final OnBatchSwipeListener listener) {
+        this.undoTimeoutMillis = undoTimeoutMillis;
+        this.maxPending = Math.max(1, maxPending);
+        this.listener = listener;
+    }
+
+    /**
+     * @return the number of swiped rows waiting to be committed.
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            count += pending.endAt(i) - pending.startAt(i);
+        }
+        return count;
+    }
+
+    public boolean isPending(final int position) {
+        return pending.contains(position);
+    }
+
+    /**
+     * Bring a pending row back.
+     * @param position the adapter position of the row.
+     * @return true if the row was pending.
+     */
+    public boolean undo(final int position) {
+        if (!pending.contains(position)) {
+            return false;
+        }
+
+        pending.remove(position, position + 1);
+        if (recyclerView != null) {
+            final RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(position);
+            if (holder != null) {
+                show(holder.itemView);
+            }
+        }
+        if (adapter != null) {
+            // Rebinding the row resets the swiped view.
+            adapter.notifyItemChanged(position);
+        }
+        if (pending.isEmpty()) {
+            handler.removeCallbacks(flushRunnable);
+        }
+        return true;
+    }
+
+    /**
+     * Bring all the pending rows back.
+     */
+    public void undoAll() {
+        handler.removeCallbacks(flushRunnable);
+        showAll();
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            final int start = pending.startAt(i);
+            final int count = pending.endAt(i) - start;
+            if (adapter != null) {
+                adapter.notifyItemRangeChanged(start, count);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Commit the pending rows now.
+     */
+    public void flush() {
+        handler.removeCallbacks(flushRunnable);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Snapshot and clear before notifying, so our own notifications don't shift anything.
+        final int rangeCount = pending.size();
+        final int[] starts = new int[rangeCount];
+        final int[] counts = new int[rangeCount];
+        final int[] positions = new int[getPendingCount()];
+        int index = 0;
+        for (int i = rangeCount - 1; i >= 0; i--) {
+            final int start = pending.startAt(i);
+            final int end = pending.endAt(i);
+            starts[i] = start;
+            counts[i] = end - start;
+            for (int position = end - 1; position >= start; position--) {
+                positions[index++] = position;
+            }
+        }
+        pending.clear();
+
+        listener.onItemsSwiped(positions);
+
+        if (adapter != null) {
+            // Descending order keeps the remaining positions valid.
+            for (int i = rangeCount - 1; i >= 0; i--) {
+                adapter.notifyItemRangeRemoved(starts[i], counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Called by the helper when a row has been swiped.
+     */
+    void onSwiped(final int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        pending.add(position, position + 1);
+        if (getPendingCount() >= maxPending) {
+            flush();
+        } else {
+            handler.removeCallbacks(flushRunnable);
+            handler.postDelayed(flushRunnable, undoTimeoutMillis);
+        }
+    }
+
+    /**
+     * Called by the helper with the RecyclerView it's attached to, or null once detached.
+     */
+    void bind(final RecyclerView recyclerView) {
+        if (recyclerView != this.recyclerView) {
+            if (this.recyclerView != null) {
+                this.recyclerView.removeOnChildAttachStateChangeListener(childListener);
+                showAll();
+            }
+            this.recyclerView = recyclerView;
+            if (recyclerView != null) {
+                recyclerView.addOnChildAttachStateChangeListener(childListener);
+            }
+        }
+
+        final RecyclerView.Adapter adapter = recyclerView != null ? recyclerView.getAdapter() : null;
+        if (adapter == this.adapter) {
+            return;
+        }
+
+        if (this.adapter != null) {
+            this.adapter.unregisterAdapterDataObserver(observer);
+            cancelPending();
+        }
+        this.adapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(observer);
+        }
+    }
+
+    private void cancelPending() {
+        handler.removeCallbacks(flushRunnable);
+        pending.clear();
+        showAll();
+    }
+
+    private void show(final View view) {
+        if (hiddenViews.remove(view)) {
+            view.setTranslationX(0);
+        }
+    }
+
+    private void showAll() {
+        for (int i = 0; i < hiddenViews.size(); i++) {
+            hiddenViews.get(i).setTranslationX(0);
+        }
+        hiddenViews.clear();
+    }
+
+    /**
+     * Receives the swiped positions of a batch, in descending order.
+     * Remove the items from your data but don't notify the adapter, the controller does it.
+     */
+    public interface OnBatchSwipeListener {
+        void onItemsSwiped(int[] positions);
+    }
+}
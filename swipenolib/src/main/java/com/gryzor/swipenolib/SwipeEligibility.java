@@ -0,0 +1,96 @@
+package com.gryzor.swipenolib;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Decides whether a row of the RecyclerView can be swiped or not, with the {@link DisabledRows} of the core module.
+ * Disabled positions and {@link SwipeRules} ranges follow the adapter notifications, so they keep pointing to the
+ * same rows after inserts, removes and moves.
+ * When the adapter has stable ids, the disabled positions are also resolved to item ids the first time data is
+ * available, which keeps them correct across {@link RecyclerView.Adapter#notifyDataSetChanged()}.
+ * With a {@link PagedSwipeSource}, placeholder rows are never swipeable.
+ */
+final class SwipeEligibility {
+
+    private final DisabledRows disabledRows;
+    private RecyclerView.Adapter observedAdapter;
+
+    private final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            resolvePendingPositions();
+        }
+
+        @Override
+        public void onItemRangeInserted(final int positionStart, final int itemCount) {
+            disabledRows.onItemRangeInserted(positionStart, itemCount);
+            resolvePendingPositions();
+        }
+
+        @Override
+        public void onItemRangeRemoved(final int positionStart, final int itemCount) {
+            disabledRows.onItemRangeRemoved(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(final int fromPosition, final int toPosition, final int itemCount) {
+            // RecyclerView only supports moving one item at a time.
+            disabledRows.onItemMoved(fromPosition, toPosition);
+        }
+    };
+
+    private final DisabledRows.ItemIds itemIds = new DisabledRows.ItemIds() {
+        @Override
+        public long getItemId(final int position) {
+            return observedAdapter.getItemId(position);
+        }
+    };
+
+    SwipeEligibility(
+            final int[] disabledLocations,
+            final long[] disabledIds,
+            final boolean disableSwipeOnLastPosition,
+            final SwipeRules rules,
+            final PagedSwipeSource pagedSource) {
+        disabledRows = new DisabledRows(
+                disabledLocations, disabledIds, disableSwipeOnLastPosition, rules, pagedSource);
+    }
+
+    boolean isSwipeDisabled(final RecyclerView recyclerView, final RecyclerView.ViewHolder viewHolder) {
+        final RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        if (adapter != observedAdapter) {
+            observe(adapter);
+        }
+
+        return disabledRows.isSwipeDisabled(
+                viewHolder.getItemId(),
+                viewHolder.getAdapterPosition(),
+                viewHolder.getItemViewType(),
+                adapter != null ? adapter.getItemCount() : -1);
+    }
+
+    /**
+     * Stop observing the adapter. The disabled positions are kept, and follow the next adapter seen.
+     */
+    void unbind() {
+        observe(null);
+    }
+
+    private void observe(final RecyclerView.Adapter adapter) {
+        if (observedAdapter != null) {
+            observedAdapter.unregisterAdapterDataObserver(observer);
+        }
+
+        observedAdapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(observer);
+            resolvePendingPositions();
+        }
+    }
+
+    private void resolvePendingPositions() {
+        if (observedAdapter != null && observedAdapter.hasStableIds()) {
+            disabledRows.resolvePositions(observedAdapter.getItemCount(), itemIds);
+        }
+    }
+}
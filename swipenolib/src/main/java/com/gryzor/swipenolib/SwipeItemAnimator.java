@@ -0,0 +1,95 @@
+package com.gryzor.swipenolib;
+
+import android.support.v7.widget.DefaultItemAnimator;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DefaultItemAnimator} that reports when remove and move animations are scheduled, start and finish.
+ * Set it on the RecyclerView with {@link RecyclerView#setItemAnimator(RecyclerView.ItemAnimator)} and
+ * {@link RecyclerViewSwipeHelperDecorator} will track the views filling the gap left by a removed row
+ * instead of scanning every child on every frame.
+ */
+public class SwipeItemAnimator extends DefaultItemAnimator {
+
+    private final List<AnimationListener> listeners = new ArrayList<>(1);
+
+    @Override
+    public void onRemoveStarting(final RecyclerView.ViewHolder item) {
+        super.onRemoveStarting(item);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRemoveStarting(item);
+        }
+    }
+
+    @Override
+    public void onRemoveFinished(final RecyclerView.ViewHolder item) {
+        super.onRemoveFinished(item);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRemoveFinished(item);
+        }
+    }
+
+    @Override
+    public boolean animateMove(
+            final RecyclerView.ViewHolder holder,
+            final int fromX,
+            final int fromY,
+            final int toX,
+            final int toY) {
+        // The translation is applied now, the move itself only starts once the removals are done.
+        final boolean scheduled = super.animateMove(holder, fromX, fromY, toX, toY);
+        if (scheduled) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onMoveScheduled(holder);
+            }
+        }
+        return scheduled;
+    }
+
+    @Override
+    public void onMoveStarting(final RecyclerView.ViewHolder item) {
+        super.onMoveStarting(item);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onMoveStarting(item);
+        }
+    }
+
+    @Override
+    public void onMoveFinished(final RecyclerView.ViewHolder item) {
+        super.onMoveFinished(item);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onMoveFinished(item);
+        }
+    }
+
+    void addAnimationListener(final AnimationListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    void removeAnimationListener(final AnimationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Receives the start and end of the remove and move animations.
+     */
+    interface AnimationListener {
+        void onRemoveStarting(RecyclerView.ViewHolder item);
+
+        void onRemoveFinished(RecyclerView.ViewHolder item);
+
+        /**
+         * The row has been offset back to its old position, and will move once the pending removals are done.
+         */
+        void onMoveScheduled(RecyclerView.ViewHolder item);
+
+        void onMoveStarting(RecyclerView.ViewHolder item);
+
+        void onMoveFinished(RecyclerView.ViewHolder item);
+    }
+}
@@ -0,0 +1,127 @@
+package com.gryzor.swipenolib;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+/**
+ * Rasterizes the delete icon or the delete text once into a {@link Bitmap}, so drawing the label on each swipe
+ * frame is a single bitmap blit: no measuring, no vector rendering and no allocations.
+ * The text is laid out with a {@link StaticLayout}, either ellipsized on a single line or wrapped over
+ * several lines. The bitmap is rendered again only when the available width or the screen density changes.
+ * A cache created for a {@link SwipeStyle} takes its bitmaps from the style, which shares them with other lists.
+ */
+final class SwipeLabelCache {
+
+    private final Drawable icon;
+    private final CharSequence text;
+    private final TextPaint textPaint;
+    private final int maxLines;
+    private final SwipeStyle style;
+
+    private Bitmap bitmap;
+    private int cachedMaxWidth = -1;
+    private int cachedDensityDpi = -1;
+
+    SwipeLabelCache(final Drawable icon, final CharSequence text, final TextPaint textPaint, final int maxLines) {
+        this.icon = icon;
+        this.text = text;
+        this.textPaint = textPaint;
+        this.maxLines = Math.max(1, maxLines);
+        this.style = null;
+    }
+
+    SwipeLabelCache(final SwipeStyle style) {
+        this.icon = null;
+        this.text = null;
+        this.textPaint = null;
+        this.maxLines = 1;
+        this.style = style;
+    }
+
+    /**
+     * @param maxWidth the maximum width, in pixels, the label can take. Only used for text.
+     * @param densityDpi the current screen density.
+     * @return the rendered label, or null if there's nothing to draw.
+     */
+    Bitmap get(final int maxWidth, final int densityDpi) {
+        final int widthKey = icon != null ? 0 : maxWidth;
+        if (bitmap == null || widthKey != cachedMaxWidth || densityDpi != cachedDensityDpi) {
+            release();
+            bitmap = style != null ? style.getLabel(maxWidth, densityDpi) : render(maxWidth);
+            cachedMaxWidth = widthKey;
+            cachedDensityDpi = densityDpi;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Free the cached bitmap, it will be rendered again on the next call to {@link #get(int, int)}.
+     */
+    void release() {
+        if (bitmap != null) {
+            if (style == null) {
+                // Shared bitmaps belong to the style.
+                bitmap.recycle();
+            }
+            bitmap = null;
+        }
+        cachedMaxWidth = -1;
+        cachedDensityDpi = -1;
+    }
+
+    boolean isIcon() {
+        return icon != null;
+    }
+
+    /**
+     * Render a new bitmap, not kept by this cache.
+     */
+    Bitmap render(final int maxWidth) {
+        return icon != null ? renderIcon() : renderText(maxWidth);
+    }
+
+    private Bitmap renderIcon() {
+        final int width = icon.getIntrinsicWidth();
+        final int height = icon.getIntrinsicHeight();
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+
+        final Bitmap rendered = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        icon.setBounds(0, 0, width, height);
+        icon.draw(new Canvas(rendered));
+        return rendered;
+    }
+
+    private Bitmap renderText(final int maxWidth) {
+        if (TextUtils.isEmpty(text) || maxWidth <= 0) {
+            return null;
+        }
+
+        final int desiredWidth = (int) Math.ceil(Layout.getDesiredWidth(text, textPaint));
+        final int width = Math.max(1, Math.min(desiredWidth, maxWidth));
+
+        final CharSequence source = maxLines == 1
+                ? TextUtils.ellipsize(text, textPaint, width, TextUtils.TruncateAt.END)
+                : text;
+        final StaticLayout layout = new StaticLayout(
+                source, textPaint, width, Layout.Alignment.ALIGN_OPPOSITE, 1f, 0f, false);
+
+        final int lines = Math.min(layout.getLineCount(), maxLines);
+        final int height = lines > 0 ? layout.getLineBottom(lines - 1) : 0;
+        if (height <= 0) {
+            return null;
+        }
+
+        final Bitmap rendered = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        final Canvas canvas = new Canvas(rendered);
+        canvas.clipRect(0, 0, width, height);
+        layout.draw(canvas);
+        return rendered;
+    }
+}
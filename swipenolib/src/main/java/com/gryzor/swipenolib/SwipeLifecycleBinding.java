@@ -0,0 +1,105 @@
+package com.gryzor.swipenolib;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.helper.ItemTouchHelper;
+
+/**
+ * A swipe helper bound to the lifecycle of an {@link Activity}, built with
+ * {@link RecyclerViewItemSwipeHelper.Builder#bindToLifecycle(Activity, RecyclerView)}.
+ * Resources are resolved with the application context. When the Activity is destroyed the helper detaches from the
+ * RecyclerView, drops the listener, the adapter and the rendered label, so nothing keeps the Activity alive.
+ * Keep the binding across configuration changes (in a retained fragment for instance) and call
+ * {@link #attach(Activity, RecyclerView, RecyclerViewItemSwipeHelper.OnSwipeListener)} from the new Activity: the
+ * resolved dimensions, paints and drawables are reused, only the label is rendered again.
+ * Only the {@link RecyclerViewItemSwipeHelper.OnSwipeListener} is handed over to the new Activity, so the helper can't
+ * hold anything else that would point to the old one: a commit controller, an async listener, a paged source, sections,
+ * a renderer or a {@link SwipeRules} predicate.
+ * Must be used from the main thread.
+ */
+public final class SwipeLifecycleBinding implements Application.ActivityLifecycleCallbacks {
+
+    private final RecyclerViewItemSwipeHelper callback;
+    private final ItemTouchHelper itemTouchHelper;
+    private Activity activity;
+
+    SwipeLifecycleBinding(final RecyclerViewItemSwipeHelper callback) {
+        this.callback = callback;
+        this.itemTouchHelper = new ItemTouchHelper(callback);
+    }
+
+    /**
+     * Attach the helper to a RecyclerView of the given Activity, until it's destroyed or {@link #detach()} is called.
+     * Detaches it from the previous one first.
+     * @param listener the listener for this Activity, may be null with a commit controller or an async listener.
+     */
+    public void attach(
+            @NonNull final Activity activity,
+            @NonNull final RecyclerView recyclerView,
+            @Nullable final RecyclerViewItemSwipeHelper.OnSwipeListener listener) {
+        detach();
+        this.activity = activity;
+        callback.setListener(listener);
+        itemTouchHelper.attachToRecyclerView(recyclerView);
+        activity.getApplication().registerActivityLifecycleCallbacks(this);
+    }
+
+    /**
+     * Detach the helper and let go of the Activity, the listener and the rendered label. Called when the Activity is
+     * destroyed.
+     */
+    public void detach() {
+        if (activity == null) {
+            return;
+        }
+
+        activity.getApplication().unregisterActivityLifecycleCallbacks(this);
+        activity = null;
+        itemTouchHelper.attachToRecyclerView(null);
+        callback.release();
+    }
+
+    public boolean isAttached() {
+        return activity != null;
+    }
+
+    @NonNull
+    public ItemTouchHelper getItemTouchHelper() {
+        return itemTouchHelper;
+    }
+
+    @Override
+    public void onActivityDestroyed(final Activity activity) {
+        if (activity == this.activity) {
+            detach();
+        }
+    }
+
+    @Override
+    public void onActivityCreated(final Activity activity, final Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityStarted(final Activity activity) {
+    }
+
+    @Override
+    public void onActivityResumed(final Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(final Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(final Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(final Activity activity, final Bundle outState) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.gryzor.swipenolib;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link RecyclerView.Adapter} base that holds its items and removes swiped rows for you.
+ * Items live in a chunked list: getting, inserting or removing a row costs O(log n), so swiping a row of a very large
+ * list doesn't shift the whole backing array. Every change is notified with the matching range notification.
+ * Pass the adapter to {@link RecyclerViewItemSwipeHelper.Builder#setSwipeListener(RecyclerViewItemSwipeHelper.OnSwipeListener)},
+ * to a {@link SwipeCommitController} or to a {@link RecyclerViewBulkSwipeHelper}, and override
+ * {@link #onSwipedItemRemoved(int, Object)} to be told about removals. To replace the items with a new list without
+ * losing the animations, use a {@link SwipeListDiffer}.
+ * All methods must be called from the main thread.
+ * @param <T> the type of the items.
+ * @param <VH> the type of the ViewHolders.
+ */
+public abstract class SwipeListAdapter<T, VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH>
+        implements RecyclerViewItemSwipeHelper.OnSwipeListener, SwipeCommitController.OnBatchSwipeListener,
+        RecyclerViewBulkSwipeHelper.OnRangeSwipeListener {
+
+    private final ChunkedList<T> items;
+    private SwipeListDiffer<T> differ;
+    private int modificationCount;
+    // Changes other than swipes, which the differ can't replay on the list it last submitted.
+    private int editCount;
+
+    protected SwipeListAdapter() {
+        items = new ChunkedList<>();
+    }
+
+    protected SwipeListAdapter(@NonNull final Collection<? extends T> items) {
+        this.items = new ChunkedList<>(items);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public T getItem(final int position) {
+        return items.get(position);
+    }
+
+    /**
+     * Replace all the items.
+     */
+    public void setItems(@NonNull final Collection<? extends T> newItems) {
+        items.replaceWith(newItems);
+        modificationCount++;
+        editCount++;
+        notifyDataSetChanged();
+    }
+
+    public void add(final T item) {
+        add(items.size(), item);
+    }
+
+    public void add(final int position, final T item) {
+        items.add(position, item);
+        modificationCount++;
+        editCount++;
+        notifyItemInserted(position);
+    }
+
+    public void addAll(@NonNull final Collection<? extends T> newItems) {
+        final int positionStart = items.size();
+        items.addAll(newItems);
+        modificationCount++;
+        editCount++;
+        notifyItemRangeInserted(positionStart, newItems.size());
+    }
+
+    /**
+     * @return the removed item.
+     */
+    public T remove(final int position) {
+        final T item = items.remove(position);
+        modificationCount++;
+        editCount++;
+        notifyItemRemoved(position);
+        return item;
+    }
+
+    public void removeRange(final int positionStart, final int itemCount) {
+        items.subList(positionStart, positionStart + itemCount).clear();
+        modificationCount++;
+        editCount++;
+        notifyItemRangeRemoved(positionStart, itemCount);
+    }
+
+    /**
+     * Remove several rows, with one {@code notifyItemRangeRemoved} per run of consecutive positions.
+     * @param positions the positions to remove, in any order.
+     */
+    public void removeAll(@NonNull final int[] positions) {
+        if (positions.length == 0) {
+            return;
+        }
+
+        final int[] sorted = positions.clone();
+        Arrays.sort(sorted);
+
+        // Descending order keeps the remaining positions valid.
+        int runEnd = sorted[sorted.length - 1];
+        int runStart = runEnd;
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            final int position = sorted[i];
+            if (position == runStart) {
+                continue;
+            }
+            if (position != runStart - 1) {
+                removeRange(runStart, runEnd - runStart + 1);
+                runEnd = position;
+            }
+            runStart = position;
+        }
+        removeRange(runStart, runEnd - runStart + 1);
+    }
+
+    /**
+     * A row has been swiped, remove it.
+     */
+    @Override
+    public void onItemSwiped(final int position) {
+        if (position < 0 || position >= items.size()) {
+            return;
+        }
+
+        final T item = items.remove(position);
+        modificationCount++;
+        notifyItemRemoved(position);
+        if (differ != null) {
+            differ.onItemRemoved(item);
+        }
+        onSwipedItemRemoved(position, item);
+    }
+
+    /**
+     * A batch of rows has been committed by a {@link SwipeCommitController}, remove them.
+     * The controller notifies the adapter itself.
+     */
+    @Override
+    public void onItemsSwiped(final int[] positions) {
+        // The controller hands the positions in descending order.
+        for (int position : positions) {
+            final T item = items.remove(position);
+            if (differ != null) {
+                differ.onItemRemoved(item);
+            }
+            onSwipedItemRemoved(position, item);
+        }
+        modificationCount++;
+    }
+
+    /**
+     * A run of rows has been swiped by a {@link RecyclerViewBulkSwipeHelper}, remove them.
+     * The helper notifies the adapter itself.
+     */
+    @Override
+    public void onItemRangeSwiped(final int positionStart, final int itemCount) {
+        // Last to first, as in a batch from the controller.
+        for (int position = positionStart + itemCount - 1; position >= positionStart; position--) {
+            final T item = items.remove(position);
+            if (differ != null) {
+                differ.onItemRemoved(item);
+            }
+            onSwipedItemRemoved(position, item);
+        }
+        modificationCount++;
+    }
+
+    /**
+     * Called after a swiped row has been removed. Does nothing by default.
+     * @param position the position the item had.
+     * @param item the removed item.
+     */
+    protected void onSwipedItemRemoved(final int position, final T item) {
+    }
+
+    /**
+     * @return a read-only view of the items.
+     */
+    @NonNull
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    void setDiffer(final SwipeListDiffer<T> differ) {
+        this.differ = differ;
+    }
+
+    int getModificationCount() {
+        return modificationCount;
+    }
+
+    int getEditCount() {
+        return editCount;
+    }
+
+    /**
+     * Called by the differ, which notifies the changes itself.
+     */
+    void replaceItems(final List<T> newItems) {
+        items.replaceWith(newItems);
+        modificationCount++;
+    }
+}
@@ -0,0 +1,205 @@
+package com.gryzor.swipenolib;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.v7.util.DiffUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Replaces the items of a {@link SwipeListAdapter} with a new list, computing the difference on an {@link Executor}
+ * and dispatching only the resulting insertions, removals, moves and changes. Rows keep their removal animation and
+ * unchanged rows aren't rebound, unlike with {@code notifyDataSetChanged}.
+ * Items swiped away are remembered by key: while a submitted list still contains them (for instance a server
+ * response built before the deletion reached it), they are left out, so they don't come back. A key is forgotten
+ * once a submitted list no longer contains it.
+ * If the adapter changes while a diff is computed, the diff is computed again against the new items. When lists
+ * are submitted faster than they are diffed, only the last one is applied.
+ * All methods must be called from the main thread.
+ * @param <T> the type of the items.
+ */
+public final class SwipeListDiffer<T> {
+
+    private final SwipeListAdapter<T, ?> adapter;
+    private final Executor executor;
+    private final ItemCallback<T> callback;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final LongHashSet removedKeys = new LongHashSet();
+    private int generation;
+    // The items last handed to the adapter, diffed against instead of copying the adapter items on every submit.
+    private List<T> snapshot;
+    private int snapshotEditCount;
+    // Keys swiped away since the snapshot, their items are still in it but no longer in the adapter.
+    private final LongHashSet swipedSinceSnapshot = new LongHashSet();
+
+    /**
+     * @param adapter the adapter whose items are replaced.
+     * @param executor runs the diffs.
+     * @param callback identifies and compares the items.
+     */
+    public SwipeListDiffer(
+            @NonNull final SwipeListAdapter<T, ?> adapter,
+            @NonNull final Executor executor,
+            @NonNull final ItemCallback<T> callback) {
+        this.adapter = adapter;
+        this.executor = executor;
+        this.callback = callback;
+        adapter.setDiffer(this);
+    }
+
+    /**
+     * Replace the items of the adapter with {@code newList}, once the difference has been computed.
+     * @param newList the new items, it must not be modified afterwards.
+     */
+    public void submitList(@NonNull final List<T> newList) {
+        final int submitGeneration = ++generation;
+        final int modificationCount = adapter.getModificationCount();
+        if (snapshot == null || adapter.getEditCount() != snapshotEditCount) {
+            // Changed by other means than swipes, start again from the adapter items.
+            takeSnapshot(new ArrayList<>(adapter.getItems()));
+        }
+        final List<T> base = snapshot;
+        final long[] swiped = swipedSinceSnapshot.toArray();
+        final long[] removed = removedKeys.toArray();
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final LongHashSet removedSet = new LongHashSet(removed.length);
+                for (long key : removed) {
+                    removedSet.add(key);
+                }
+
+                final LongHashSet stillListed = new LongHashSet();
+                final List<T> filtered = new ArrayList<>(newList.size());
+                for (int i = 0; i < newList.size(); i++) {
+                    final T item = newList.get(i);
+                    final long key = callback.getKey(item);
+                    if (removedSet.contains(key)) {
+                        stillListed.add(key);
+                    } else {
+                        filtered.add(item);
+                    }
+                }
+
+                final List<T> oldList = swiped.length == 0 ? base : withoutKeys(base, swiped);
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new KeyCallback(oldList, filtered));
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        apply(submitGeneration, modificationCount, newList, filtered, result, removed, stillListed);
+                    }
+                });
+            }
+        });
+    }
+
+    private void apply(
+            final int submitGeneration,
+            final int modificationCount,
+            final List<T> newList,
+            final List<T> filtered,
+            final DiffUtil.DiffResult result,
+            final long[] removed,
+            final LongHashSet stillListed) {
+        if (submitGeneration != generation) {
+            // A newer list has been submitted.
+            return;
+        }
+
+        if (modificationCount != adapter.getModificationCount()) {
+            // The items changed while diffing (a swipe, a commit), the result doesn't apply to them anymore.
+            submitList(newList);
+            return;
+        }
+
+        for (long key : removed) {
+            if (!stillListed.contains(key)) {
+                removedKeys.remove(key);
+            }
+        }
+
+        adapter.replaceItems(filtered);
+        takeSnapshot(filtered);
+        result.dispatchUpdatesTo(adapter);
+    }
+
+    private void takeSnapshot(final List<T> items) {
+        snapshot = items;
+        snapshotEditCount = adapter.getEditCount();
+        swipedSinceSnapshot.clear();
+    }
+
+    /**
+     * @return the items of the snapshot still in the adapter, computed on the executor.
+     */
+    private List<T> withoutKeys(final List<T> items, final long[] keys) {
+        final LongHashSet keySet = new LongHashSet(keys.length);
+        for (long key : keys) {
+            keySet.add(key);
+        }
+
+        final List<T> kept = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            final T item = items.get(i);
+            if (!keySet.contains(callback.getKey(item))) {
+                kept.add(item);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Called by the adapter when a swiped item has been removed.
+     */
+    void onItemRemoved(final T item) {
+        final long key = callback.getKey(item);
+        removedKeys.add(key);
+        swipedSinceSnapshot.add(key);
+    }
+
+    private final class KeyCallback extends DiffUtil.Callback {
+        private final List<T> oldList;
+        private final List<T> newList;
+
+        KeyCallback(final List<T> oldList, final List<T> newList) {
+            this.oldList = oldList;
+            this.newList = newList;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldList.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newList.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(final int oldItemPosition, final int newItemPosition) {
+            return callback.getKey(oldList.get(oldItemPosition)) == callback.getKey(newList.get(newItemPosition));
+        }
+
+        @Override
+        public boolean areContentsTheSame(final int oldItemPosition, final int newItemPosition) {
+            return callback.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+        }
+    }
+
+    /**
+     * Identifies and compares items. Called on the executor thread.
+     */
+    public interface ItemCallback<T> {
+        /**
+         * @return a key unique to the item, that stays the same across lists (a database id for instance).
+         */
+        long getKey(T item);
+
+        boolean areContentsTheSame(T oldItem, T newItem);
+    }
+}
@@ -0,0 +1,76 @@
+package com.gryzor.swipenolib;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The completion handle of an asynchronous swipe, see {@link OnAsyncSwipeListener}.
+ * Call {@link #succeed()} or {@link #fail(Throwable)} exactly once, from any thread. Only the first call counts.
+ */
+public final class SwipeOperation {
+
+    private final int backingPosition;
+    private final long itemId;
+    private final AsyncSwipeDispatcher dispatcher;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile boolean failed;
+    private volatile Throwable error;
+
+    SwipeOperation(final int backingPosition, final long itemId, final AsyncSwipeDispatcher dispatcher) {
+        this.backingPosition = backingPosition;
+        this.itemId = itemId;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @return the position of the swiped row in the backing data, it doesn't change while operations are running.
+     */
+    public int getBackingPosition() {
+        return backingPosition;
+    }
+
+    /**
+     * @return the stable id of the swiped row, or {@link android.support.v7.widget.RecyclerView#NO_ID}.
+     */
+    public long getItemId() {
+        return itemId;
+    }
+
+    /**
+     * The row can be deleted for good.
+     */
+    public void succeed() {
+        if (done.compareAndSet(false, true)) {
+            dispatcher.onCompleted(this);
+        }
+    }
+
+    /**
+     * The row couldn't be deleted, it will be displayed again at its position.
+     * @param error the reason, may be null.
+     */
+    public void fail(final Throwable error) {
+        if (done.compareAndSet(false, true)) {
+            this.error = error;
+            this.failed = true;
+            dispatcher.onCompleted(this);
+        }
+    }
+
+    public boolean isDone() {
+        return done.get();
+    }
+
+    /**
+     * @return true if the operation is done and didn't fail.
+     */
+    public boolean isSuccessful() {
+        return done.get() && !failed;
+    }
+
+    /**
+     * @return the reason the operation failed, or null.
+     */
+    public Throwable getError() {
+        return error;
+    }
+}
@@ -0,0 +1,201 @@
+package com.gryzor.swipenolib;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes the swipes of a RecyclerView made of several sections to a policy and a listener per section, with positions
+ * local to the section. Tell it the size of each section, and when a section changes size: the start of every section
+ * is kept in a prefix sum index updated in O(log sections), so no helper has to be rebuilt.
+ * A swiped row shrinks its section by one, then the section listener removes it from its data and the adapter is
+ * notified for you. A row of a section without listener is put back.
+ * Pass it to {@link RecyclerViewItemSwipeHelper.Builder#setSections(SwipeSections)}.
+ * All methods must be called from the main thread.
+ */
+public final class SwipeSections {
+
+    private final SectionOffsetIndex index = new SectionOffsetIndex();
+    private final List<Section> sections = new ArrayList<>();
+    private RecyclerView.Adapter adapter;
+
+    /**
+     * Add a section after the last one.
+     * @param itemCount the number of rows of the section.
+     * @return the index of the section.
+     */
+    public int addSection(final int itemCount, @NonNull final Section section) {
+        sections.add(section);
+        return index.add(itemCount);
+    }
+
+    /**
+     * The number of rows of a section changed, call it along with the adapter notification. The rows are taken as
+     * added or removed at the end of the section, use {@link #onItemRangeInserted(int, int, int)} and
+     * {@link #onItemRangeRemoved(int, int, int)} otherwise so the section rules keep pointing to the same rows.
+     */
+    public void setItemCount(final int section, final int itemCount) {
+        final int previousCount = index.getItemCount(section);
+        if (itemCount > previousCount) {
+            onItemRangeInserted(section, previousCount, itemCount - previousCount);
+        } else if (itemCount < previousCount) {
+            onItemRangeRemoved(section, itemCount, previousCount - itemCount);
+        }
+    }
+
+    /**
+     * Rows were inserted in a section, call it along with the adapter notification.
+     * @param localStart the position in the section of the first inserted row.
+     */
+    public void onItemRangeInserted(final int section, final int localStart, final int itemCount) {
+        index.setItemCount(section, index.getItemCount(section) + itemCount);
+        final SwipeRules rules = sections.get(section).rules;
+        if (rules != null) {
+            rules.onItemRangeInserted(localStart, itemCount);
+        }
+    }
+
+    /**
+     * Rows were removed from a section, call it along with the adapter notification.
+     * @param localStart the position in the section of the first removed row.
+     */
+    public void onItemRangeRemoved(final int section, final int localStart, final int itemCount) {
+        index.setItemCount(section, index.getItemCount(section) - itemCount);
+        final SwipeRules rules = sections.get(section).rules;
+        if (rules != null) {
+            rules.onItemRangeRemoved(localStart, itemCount);
+        }
+    }
+
+    public int getItemCount(final int section) {
+        return index.getItemCount(section);
+    }
+
+    public int getSectionCount() {
+        return index.getSectionCount();
+    }
+
+    /**
+     * @return the rows of all the sections.
+     */
+    public int getItemCount() {
+        return index.getTotalCount();
+    }
+
+    /**
+     * @return the adapter position of the first row of the section.
+     */
+    public int getSectionStart(final int section) {
+        return index.getStart(section);
+    }
+
+    /**
+     * @return the section holding the row at the given adapter position.
+     */
+    public int getSectionOf(final int position) {
+        return index.sectionOf(position);
+    }
+
+    /**
+     * Called by the helper with the adapter of the RecyclerView it's attached to.
+     */
+    void bind(final RecyclerView.Adapter adapter) {
+        this.adapter = adapter;
+    }
+
+    boolean isSwipeDisabled(final int position, final int viewType) {
+        if (position < 0 || position >= index.getTotalCount()) {
+            // Not in any section, the sizes are out of date.
+            return true;
+        }
+
+        final int section = index.sectionOf(position);
+        final int localPosition = position - index.getStart(section);
+        final Section policy = sections.get(section);
+        if (policy.rules != null && policy.rules.isSwipeDisabled(localPosition, viewType)) {
+            return true;
+        }
+        return policy.disableSwipeOnLastItem && localPosition == index.getItemCount(section) - 1;
+    }
+
+    /**
+     * Called on the main thread when a row has been swiped.
+     */
+    void onSwiped(final int position) {
+        if (position < 0 || position >= index.getTotalCount()) {
+            return;
+        }
+
+        final int section = index.sectionOf(position);
+        final RecyclerViewItemSwipeHelper.OnSwipeListener listener = sections.get(section).listener;
+        if (listener == null) {
+            // Nobody removes the row from the data, slide it back.
+            if (adapter != null) {
+                adapter.notifyItemChanged(position);
+            }
+            return;
+        }
+
+        final int localPosition = position - index.getStart(section);
+        onItemRangeRemoved(section, localPosition, 1);
+        listener.onItemSwiped(localPosition);
+        if (adapter != null) {
+            adapter.notifyItemRemoved(position);
+        }
+    }
+
+    /**
+     * The swipe policy and listener of a section. Positions are local to the section.
+     */
+    public static final class Section {
+        private final SwipeRules rules;
+        private final boolean disableSwipeOnLastItem;
+        private final RecyclerViewItemSwipeHelper.OnSwipeListener listener;
+
+        private Section(final Builder builder) {
+            rules = builder.rules;
+            disableSwipeOnLastItem = builder.disableSwipeOnLastItem;
+            listener = builder.listener;
+        }
+
+        /**
+         * Use this Builder to construct a {@link Section}.
+         */
+        public static class Builder {
+            private SwipeRules rules;
+            private boolean disableSwipeOnLastItem;
+            private RecyclerViewItemSwipeHelper.OnSwipeListener listener;
+
+            /**
+             * Rows of the section that can't be swiped, by position in the section.
+             */
+            public Builder setSwipeRules(SwipeRules rules) {
+                this.rules = rules;
+                return this;
+            }
+
+            /**
+             * The last row of the section can't be swiped.
+             */
+            public Builder disableSwipeOnLastItem() {
+                this.disableSwipeOnLastItem = true;
+                return this;
+            }
+
+            /**
+             * Called with the position in the section of each swiped row. Remove the item from your data but don't
+             * notify the adapter, the sections do it.
+             */
+            public Builder setSwipeListener(RecyclerViewItemSwipeHelper.OnSwipeListener listener) {
+                this.listener = listener;
+                return this;
+            }
+
+            public Section build() {
+                return new Section(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.gryzor.swipenolib;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+/**
+ * The look of a swipe (background, delete icon or text, sizes), built once and shared by any number of
+ * {@link RecyclerViewItemSwipeHelper}, {@link RecyclerViewSwipeHelperDecorator} and {@link RecyclerViewSwipeRenderer}.
+ * Dimensions are resolved from the resources once, when the style is built. Each user gets its own background
+ * drawable, sharing the same constant state, and the rendered labels are kept in a bounded cache shared by all users.
+ * A SwipeStyle is immutable and can be used from any thread. It doesn't keep a reference to the Context.
+ */
+public final class SwipeStyle {
+
+    private static final int DEFAULT_MAX_CACHED_LABELS = 4;
+
+    private final Drawable background;
+    private final int deleteMargin;
+    private final boolean hasLabel;
+    private final SwipeLabelCache labelRenderer;
+    private final LruCache<Long, Bitmap> labels;
+
+    private SwipeStyle(final Resources resources, final Builder builder) {
+        background = builder.background != null ? builder.background : new ColorDrawable(Color.RED);
+        deleteMargin = builder.deleteDecorationMargin >= 0
+                ? builder.deleteDecorationMargin
+                : (int) resources.getDimension(R.dimen.swipe_cell_delete_image_margin);
+
+        Drawable icon = null;
+        if (builder.deleteIcon != null) {
+            // Tint a private copy, the drawable passed in may be used elsewhere.
+            final Drawable.ConstantState state = builder.deleteIcon.getConstantState();
+            icon = (state != null ? state.newDrawable(resources) : builder.deleteIcon).mutate();
+            icon.setColorFilter(builder.deleteDecorationColor, PorterDuff.Mode.SRC_ATOP);
+        }
+
+        TextPaint textPaint = null;
+        if (icon == null && !TextUtils.isEmpty(builder.deleteText)) {
+            textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG | Paint.LINEAR_TEXT_FLAG);
+            textPaint.setStyle(Paint.Style.FILL);
+            textPaint.setTextAlign(Paint.Align.LEFT);
+            textPaint.setColor(builder.deleteDecorationColor);
+            textPaint.setTextSize(builder.deleteTextSize > 0
+                    ? builder.deleteTextSize
+                    : resources.getDimensionPixelSize(R.dimen.swipe_cell_delete_text_size));
+        }
+
+        hasLabel = icon != null || textPaint != null;
+        labelRenderer = hasLabel
+                ? new SwipeLabelCache(icon, builder.deleteText, textPaint, builder.deleteTextMaxLines)
+                : null;
+        labels = new LruCache<>(builder.maxCachedLabels);
+    }
+
+    /**
+     * @return a new background drawable, sharing its constant state with the other users of the style.
+     */
+    Drawable newBackground() {
+        final Drawable.ConstantState state = background.getConstantState();
+        return state != null ? state.newDrawable() : background;
+    }
+
+    int getDeleteMargin() {
+        return deleteMargin;
+    }
+
+    boolean hasLabel() {
+        return hasLabel;
+    }
+
+    /**
+     * @return the label rendered for the given width and density, from the shared cache when possible.
+     */
+    Bitmap getLabel(final int maxWidth, final int densityDpi) {
+        // Width and density in one key, the width doesn't matter for icons.
+        final Long key = ((long) (labelRenderer.isIcon() ? 0 : maxWidth) << 32) | (densityDpi & 0xffffffffL);
+        synchronized (labels) {
+            Bitmap label = labels.get(key);
+            if (label == null) {
+                // Evicted bitmaps are not recycled, a helper may still be drawing them.
+                label = labelRenderer.render(maxWidth);
+                if (label != null) {
+                    labels.put(key, label);
+                }
+            }
+            return label;
+        }
+    }
+
+    /**
+     * Use this Builder to construct a {@link SwipeStyle}.
+     */
+    public static class Builder {
+        private Drawable background;
+        private Drawable deleteIcon;
+        private String deleteText;
+        private int deleteDecorationColor = Color.WHITE;
+        private int deleteTextSize = -1;
+        private int deleteTextMaxLines = 1;
+        private int deleteDecorationMargin = -1;
+        private int maxCachedLabels = DEFAULT_MAX_CACHED_LABELS;
+
+        public Builder setBackgroundColor(Drawable drawable) {
+            this.background = drawable;
+            return this;
+        }
+
+        public Builder setDeleteImage(Drawable drawable) {
+            this.deleteIcon = drawable;
+            return this;
+        }
+
+        public Builder setDeleteText(String text) {
+            this.deleteText = text;
+            return this;
+        }
+
+        public Builder setDeleteEndMargin(int dp) {
+            this.deleteDecorationMargin = dp;
+            return this;
+        }
+
+        public Builder setDeleteTextSize(int sp) {
+            this.deleteTextSize = sp;
+            return this;
+        }
+
+        public Builder setDeleteTextMaxLines(int maxLines) {
+            this.deleteTextMaxLines = maxLines;
+            return this;
+        }
+
+        public Builder setDeleteDecorationColor(int color) {
+            this.deleteDecorationColor = color;
+            return this;
+        }
+
+        /**
+         * How many rendered labels (one per row width and density) are kept, 4 by default.
+         */
+        public Builder setMaxCachedLabels(int maxCachedLabels) {
+            this.maxCachedLabels = Math.max(1, maxCachedLabels);
+            return this;
+        }
+
+        /**
+         * @param context a valid <b>non-null</b> Context, used to resolve the default dimensions.
+         * @return the style, ready to be shared.
+         */
+        public SwipeStyle build(@NonNull Context context) {
+            return new SwipeStyle(context.getResources(), this);
+        }
+    }
+}
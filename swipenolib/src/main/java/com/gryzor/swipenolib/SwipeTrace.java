@@ -0,0 +1,33 @@
+package com.gryzor.swipenolib;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Systrace sections for the swipe hot paths, only emitted when {@link SwipeMetrics#isTracingEnabled()}.
+ */
+final class SwipeTrace {
+
+    static final String CHILD_DRAW = "SwipeNoLib#onChildDraw";
+    static final String DECORATOR_DRAW = "SwipeNoLib#decoratorOnDraw";
+
+    private SwipeTrace() {
+    }
+
+    /**
+     * @return true if a section was started, pass it to {@link #end(boolean)}.
+     */
+    static boolean begin(final SwipeMetrics metrics, final String section) {
+        if (metrics.isTracingEnabled() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(section);
+            return true;
+        }
+        return false;
+    }
+
+    static void end(final boolean started) {
+        if (started) {
+            Trace.endSection();
+        }
+    }
+}
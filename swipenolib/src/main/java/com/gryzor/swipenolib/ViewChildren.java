@@ -0,0 +1,70 @@
+package com.gryzor.swipenolib;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import java.util.List;
+
+/**
+ * Exposes the children of a {@link RecyclerView.LayoutManager}, or a list of views, to {@link SwipeGeometry}.
+ * Reused between frames, point it to the views to read with one of the {@code set} methods.
+ */
+final class ViewChildren implements SwipeGeometry.GridChildren {
+
+    private RecyclerView.LayoutManager layoutManager;
+    private List<View> views;
+
+    ViewChildren setLayoutManager(final RecyclerView.LayoutManager layoutManager) {
+        this.layoutManager = layoutManager;
+        this.views = null;
+        return this;
+    }
+
+    ViewChildren setViews(final List<View> views) {
+        this.views = views;
+        this.layoutManager = null;
+        return this;
+    }
+
+    View getView(final int index) {
+        return views != null ? views.get(index) : layoutManager.getChildAt(index);
+    }
+
+    @Override
+    public int getCount() {
+        if (views != null) {
+            return views.size();
+        }
+        return layoutManager != null ? layoutManager.getChildCount() : 0;
+    }
+
+    @Override
+    public int getLeft(final int index) {
+        return getView(index).getLeft();
+    }
+
+    @Override
+    public int getRight(final int index) {
+        return getView(index).getRight();
+    }
+
+    @Override
+    public int getTop(final int index) {
+        return getView(index).getTop();
+    }
+
+    @Override
+    public int getBottom(final int index) {
+        return getView(index).getBottom();
+    }
+
+    @Override
+    public float getTranslationX(final int index) {
+        return getView(index).getTranslationX();
+    }
+
+    @Override
+    public float getTranslationY(final int index) {
+        return getView(index).getTranslationY();
+    }
+}
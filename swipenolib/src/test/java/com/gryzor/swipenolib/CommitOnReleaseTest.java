@@ -0,0 +1,78 @@
+package com.gryzor.swipenolib;
+
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.helper.ItemTouchHelper;
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommitOnReleaseTest {
+
+    private final List<Integer> swiped = new ArrayList<>();
+
+    private RecyclerViewItemSwipeHelper newHelper() {
+        return new RecyclerViewItemSwipeHelper.Builder()
+                .swipeToStart()
+                .commitOnRelease()
+                .setSwipeListener(new RecyclerViewItemSwipeHelper.OnSwipeListener() {
+                    @Override
+                    public void onItemSwiped(int position) {
+                        swiped.add(position);
+                    }
+                })
+                .buildCallback(null);
+    }
+
+    private static RecyclerView.ViewHolder newHolder() {
+        return new RecyclerView.ViewHolder(new View(null)) {
+        };
+    }
+
+    @Test
+    public void onSwiped_afterRelease_isNotDispatchedTwice() throws Exception {
+        RecyclerViewItemSwipeHelper helper = newHelper();
+        RecyclerView.ViewHolder holder = newHolder();
+
+        helper.onSelectedChanged(holder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        helper.onReleased(ItemTouchHelper.ANIMATION_TYPE_SWIPE_SUCCESS);
+        helper.onSwiped(holder, ItemTouchHelper.START);
+        helper.clearView(null, holder);
+
+        assertEquals(1, swiped.size());
+        assertFalse(helper.isCommittedOnRelease(holder));
+    }
+
+    @Test
+    public void removedAtRelease_isDrainedByClearView() throws Exception {
+        RecyclerViewItemSwipeHelper helper = newHelper();
+        RecyclerView.ViewHolder holder = newHolder();
+
+        helper.onSelectedChanged(holder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        helper.onReleased(ItemTouchHelper.ANIMATION_TYPE_SWIPE_SUCCESS);
+        assertTrue(helper.isCommittedOnRelease(holder));
+
+        // The listener removed the row, ItemTouchHelper skips onSwiped and only cleans the detached view up.
+        helper.clearView(null, holder);
+
+        assertEquals(1, swiped.size());
+        assertFalse(helper.isCommittedOnRelease(holder));
+    }
+
+    @Test
+    public void recoveredRow_isNotCommitted() throws Exception {
+        RecyclerViewItemSwipeHelper helper = newHelper();
+        RecyclerView.ViewHolder holder = newHolder();
+
+        helper.onSelectedChanged(holder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        helper.onReleased(ItemTouchHelper.ANIMATION_TYPE_SWIPE_CANCEL);
+        helper.clearView(null, holder);
+
+        assertTrue(swiped.isEmpty());
+        assertFalse(helper.isCommittedOnRelease(holder));
+    }
+}
@@ -0,0 +1,27 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+public class SwipeLifecycleBindingTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void bindToLifecycle_withSections_throws() throws Exception {
+        new RecyclerViewItemSwipeHelper.Builder()
+                .swipeToStart()
+                .setSections(new SwipeSections())
+                .bindToLifecycle(null, null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bindToLifecycle_withRulesPredicate_throws() throws Exception {
+        new RecyclerViewItemSwipeHelper.Builder()
+                .swipeToStart()
+                .setSwipeRules(new SwipeRules().disableWhen(new SwipeRules.Predicate() {
+                    @Override
+                    public boolean isSwipeDisabled(int position, int viewType) {
+                        return false;
+                    }
+                }))
+                .bindToLifecycle(null, null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.gryzor.swipenolib;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SwipeSectionsTest {
+
+    private static RecyclerViewItemSwipeHelper.OnSwipeListener recordTo(final List<Integer> swiped) {
+        return new RecyclerViewItemSwipeHelper.OnSwipeListener() {
+            @Override
+            public void onItemSwiped(int position) {
+                swiped.add(position);
+            }
+        };
+    }
+
+    @Test
+    public void onSwiped_routesLocalPositionsToTheSection() throws Exception {
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        SwipeSections sections = new SwipeSections();
+        sections.addSection(3, new SwipeSections.Section.Builder().setSwipeListener(recordTo(first)).build());
+        sections.addSection(4, new SwipeSections.Section.Builder().setSwipeListener(recordTo(second)).build());
+
+        sections.onSwiped(4);
+        sections.onSwiped(1);
+        sections.onSwiped(3);
+
+        assertEquals(1, first.size());
+        assertEquals(1, (int) first.get(0));
+        assertEquals(2, second.size());
+        assertEquals(1, (int) second.get(0));
+        assertEquals(1, (int) second.get(1));
+        assertEquals(2, sections.getItemCount(0));
+        assertEquals(2, sections.getItemCount(1));
+        assertEquals(2, sections.getSectionStart(1));
+    }
+
+    @Test
+    public void sectionRules_followSwipesAndInserts() throws Exception {
+        List<Integer> swiped = new ArrayList<>();
+        SwipeSections sections = new SwipeSections();
+        sections.addSection(2, new SwipeSections.Section.Builder().build());
+        sections.addSection(5, new SwipeSections.Section.Builder()
+                .setSwipeRules(new SwipeRules().disablePositions(3))
+                .setSwipeListener(recordTo(swiped))
+                .build());
+        assertTrue(sections.isSwipeDisabled(5, 0));
+
+        // Local row 0 of the second section goes, the disabled row moves up.
+        sections.onSwiped(2);
+        assertFalse(sections.isSwipeDisabled(5, 0));
+        assertTrue(sections.isSwipeDisabled(4, 0));
+
+        sections.onItemRangeInserted(1, 0, 2);
+        assertTrue(sections.isSwipeDisabled(6, 0));
+        assertEquals(6, sections.getItemCount(1));
+
+        // Rows added at the end don't move it.
+        sections.setItemCount(1, 8);
+        assertTrue(sections.isSwipeDisabled(6, 0));
+        // Rows removed from the end take it along.
+        sections.setItemCount(1, 4);
+        sections.setItemCount(1, 5);
+        assertFalse(sections.isSwipeDisabled(6, 0));
+    }
+
+    @Test
+    public void onSwiped_withoutListener_keepsTheRow() throws Exception {
+        List<Integer> swiped = new ArrayList<>();
+        SwipeSections sections = new SwipeSections();
+        sections.addSection(2, new SwipeSections.Section.Builder().build());
+        sections.addSection(2, new SwipeSections.Section.Builder().setSwipeListener(recordTo(swiped)).build());
+
+        sections.onSwiped(0);
+
+        assertEquals(2, sections.getItemCount(0));
+        assertEquals(4, sections.getItemCount());
+        assertTrue(swiped.isEmpty());
+    }
+}